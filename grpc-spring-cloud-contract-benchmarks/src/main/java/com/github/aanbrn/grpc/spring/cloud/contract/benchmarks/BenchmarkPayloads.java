@@ -0,0 +1,33 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.benchmarks;
+
+import com.github.aanbrn.spring.cloud.contract.benchmarks.Payload;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@UtilityClass
+class BenchmarkPayloads {
+
+    static Payload payload(final long id, final int payloadSize) {
+        val payload = Payload.newBuilder().setId(id);
+        val text = new StringBuilder(payloadSize);
+        for (int i = 0; i < payloadSize; i++) {
+            text.append((char) ('a' + i % 26));
+        }
+        payload.setText(text.toString());
+        for (int i = 0; i < payloadSize / 64; i++) {
+            payload.addValues(id * i);
+        }
+        return payload.build();
+    }
+
+    static List<Payload> payloads(final int streamLength, final int payloadSize) {
+        val payloads = new ArrayList<Payload>(streamLength);
+        for (int i = 0; i < streamLength; i++) {
+            payloads.add(payload(i, payloadSize));
+        }
+        return payloads;
+    }
+}
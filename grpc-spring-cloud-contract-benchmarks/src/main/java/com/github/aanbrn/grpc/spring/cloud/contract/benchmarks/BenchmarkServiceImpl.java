@@ -0,0 +1,66 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.benchmarks;
+
+import com.github.aanbrn.spring.cloud.contract.benchmarks.BenchmarkServiceGrpc.BenchmarkServiceImplBase;
+import com.github.aanbrn.spring.cloud.contract.benchmarks.Payload;
+import io.grpc.stub.StreamObserver;
+import lombok.NonNull;
+
+class BenchmarkServiceImpl extends BenchmarkServiceImplBase {
+
+    @Override
+    public void unaryMethod(@NonNull final Payload request, @NonNull final StreamObserver<Payload> responseObserver) {
+        responseObserver.onNext(request);
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<Payload> clientStreamingMethod(@NonNull final StreamObserver<Payload> responseObserver) {
+        return new StreamObserver<>() {
+
+            private Payload lastRequest = Payload.getDefaultInstance();
+
+            @Override
+            public void onNext(@NonNull final Payload request) {
+                lastRequest = request;
+            }
+
+            @Override
+            public void onError(@NonNull final Throwable t) {
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onNext(lastRequest);
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    @Override
+    public void serverStreamingMethod(
+            @NonNull final Payload request, @NonNull final StreamObserver<Payload> responseObserver) {
+        for (long id = 0; id < request.getId(); id++) {
+            responseObserver.onNext(request.toBuilder().setId(id).build());
+        }
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<Payload> bidiStreamingMethod(@NonNull final StreamObserver<Payload> responseObserver) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(@NonNull final Payload request) {
+                responseObserver.onNext(request);
+            }
+
+            @Override
+            public void onError(@NonNull final Throwable t) {
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        };
+    }
+}
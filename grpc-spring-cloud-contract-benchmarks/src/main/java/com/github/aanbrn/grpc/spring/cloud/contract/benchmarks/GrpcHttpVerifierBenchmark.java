@@ -0,0 +1,119 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.benchmarks;
+
+import com.github.aanbrn.grpc.spring.cloud.contract.verifier.GrpcHttpVerifier;
+import com.github.aanbrn.spring.cloud.contract.benchmarks.BenchmarkServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.internal.GrpcUtil;
+import lombok.val;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cloud.contract.spec.internal.HttpHeaders;
+import org.springframework.cloud.contract.verifier.http.Request;
+import org.springframework.cloud.contract.verifier.http.Response;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageWriter.messageAsJson;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageWriter.messagesAsJson;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GrpcHttpVerifierBenchmark {
+
+    @Param({"16", "1024", "16384"})
+    int payloadSize;
+
+    @Param({"1", "16", "256"})
+    int streamLength;
+
+    private Server server;
+
+    private ManagedChannel channel;
+
+    private GrpcHttpVerifier verifier;
+
+    private Request unaryRequest;
+
+    private Request clientStreamingRequest;
+
+    private Request serverStreamingRequest;
+
+    private Request bidiStreamingRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        val serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder
+                .forName(serverName)
+                .directExecutor()
+                .addService(new BenchmarkServiceImpl())
+                .build()
+                .start();
+        channel = InProcessChannelBuilder
+                .forName(serverName)
+                .directExecutor()
+                .build();
+        verifier = new GrpcHttpVerifier(channel, List.of(new BenchmarkServiceImpl()));
+
+        val payload = BenchmarkPayloads.payload(1, payloadSize);
+        val payloads = BenchmarkPayloads.payloads(streamLength, payloadSize);
+
+        unaryRequest = contractRequest(
+                BenchmarkServiceGrpc.getUnaryMethodMethod(),
+                messageAsJson(payload));
+        clientStreamingRequest = contractRequest(
+                BenchmarkServiceGrpc.getClientStreamingMethodMethod(),
+                messagesAsJson(payloads));
+        serverStreamingRequest = contractRequest(
+                BenchmarkServiceGrpc.getServerStreamingMethodMethod(),
+                messageAsJson(BenchmarkPayloads.payload(streamLength, payloadSize)));
+        bidiStreamingRequest = contractRequest(
+                BenchmarkServiceGrpc.getBidiStreamingMethodMethod(),
+                messagesAsJson(payloads));
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public Response unaryExchange() {
+        return verifier.exchange(unaryRequest);
+    }
+
+    @Benchmark
+    public Response clientStreamingExchange() {
+        return verifier.exchange(clientStreamingRequest);
+    }
+
+    @Benchmark
+    public Response serverStreamingExchange() {
+        return verifier.exchange(serverStreamingRequest);
+    }
+
+    @Benchmark
+    public Response bidiStreamingExchange() {
+        return verifier.exchange(bidiStreamingRequest);
+    }
+
+    private static Request contractRequest(final MethodDescriptor<?, ?> methodDescriptor, final String body) {
+        return Request
+                .given()
+                .post("/" + methodDescriptor.getFullMethodName())
+                .header(HttpHeaders.CONTENT_TYPE, GrpcUtil.CONTENT_TYPE_GRPC)
+                .header("te", "trailers")
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.benchmarks;
+
+import com.github.aanbrn.spring.cloud.contract.benchmarks.Payload;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.DynamicMessage;
+import lombok.val;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageWriter.messageAsJson;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageWriter.messagesAsJson;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcUtils.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GrpcJsonConversionBenchmark {
+
+    @Param({"16", "1024", "16384"})
+    int payloadSize;
+
+    @Param({"1", "16", "256"})
+    int streamLength;
+
+    private Descriptor messageType;
+
+    private DynamicMessage message;
+
+    private List<DynamicMessage> messages;
+
+    private String messageJson;
+
+    private String messagesJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        messageType = Payload.getDescriptor();
+
+        val payloads = BenchmarkPayloads.payloads(streamLength, payloadSize);
+        messageJson = messageAsJson(payloads.get(0));
+        messagesJson = messagesAsJson(payloads);
+        message = messageFromJson(messageJson, messageType);
+        messages = messagesFromJson(messagesJson, messageType);
+    }
+
+    @Benchmark
+    public DynamicMessage messageFromJsonString() throws IOException {
+        return messageFromJson(messageJson, messageType);
+    }
+
+    @Benchmark
+    public List<DynamicMessage> messagesFromJsonString() throws IOException {
+        return messagesFromJson(messagesJson, messageType);
+    }
+
+    @Benchmark
+    public Map<String, Object> messageToMap() {
+        return messageAsMap(message);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> messagesToList() {
+        return messagesAsList(messages);
+    }
+
+    @Benchmark
+    public String messageToJsonString() {
+        return messageAsJson(message);
+    }
+
+    @Benchmark
+    public String messagesToJsonString() {
+        return messagesAsJson(messages);
+    }
+}
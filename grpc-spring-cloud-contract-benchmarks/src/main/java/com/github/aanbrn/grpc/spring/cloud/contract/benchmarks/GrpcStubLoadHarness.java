@@ -0,0 +1,195 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.benchmarks;
+
+import com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer.GrpcWireMockHttpServerStubConfigurer;
+import com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer.GrpcWireMockOptions;
+import com.github.aanbrn.spring.cloud.contract.benchmarks.BenchmarkServiceGrpc;
+import com.github.aanbrn.spring.cloud.contract.benchmarks.BenchmarkServiceGrpc.BenchmarkServiceStub;
+import com.github.aanbrn.spring.cloud.contract.benchmarks.Payload;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.internal.GrpcUtil;
+import io.grpc.stub.StreamObserver;
+import lombok.val;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageWriter.messageAsJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+
+public final class GrpcStubLoadHarness {
+
+    static class HarnessStubConfigurer extends GrpcWireMockHttpServerStubConfigurer {
+        HarnessStubConfigurer() {
+            super(List.of(BenchmarkServiceGrpc.getServiceDescriptor()), GrpcWireMockOptions.PERFORMANCE);
+        }
+    }
+
+    private record Result(long calls, long failures, Duration elapsed, Histogram latencyHistogram) {
+
+        double throughput() {
+            return calls * 1e9 / elapsed.toNanos();
+        }
+    }
+
+    private static final class LoadRun {
+
+        private final Payload payload;
+
+        private final long endNanos;
+
+        private final Histogram latencyHistogram = new ConcurrentHistogram(3);
+
+        private final LongAdder calls = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final CountDownLatch done;
+
+        private LoadRun(final Payload payload, final long endNanos, final int concurrency) {
+            this.payload = payload;
+            this.endNanos = endNanos;
+            this.done = new CountDownLatch(concurrency);
+        }
+
+        private void call(final BenchmarkServiceStub stub) {
+            if (System.nanoTime() - endNanos >= 0) {
+                done.countDown();
+                return;
+            }
+
+            val startNanos = System.nanoTime();
+            stub.unaryMethod(payload, new StreamObserver<>() {
+                @Override
+                public void onNext(final Payload value) {
+                }
+
+                @Override
+                public void onError(final Throwable t) {
+                    failures.increment();
+                    completed();
+                }
+
+                @Override
+                public void onCompleted() {
+                    completed();
+                }
+
+                private void completed() {
+                    latencyHistogram.recordValue(System.nanoTime() - startNanos);
+                    calls.increment();
+                    call(stub);
+                }
+            });
+        }
+    }
+
+    private GrpcStubLoadHarness() {
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        val exitCode = run(args);
+        if (exitCode != 0) {
+            System.exit(exitCode);
+        }
+    }
+
+    private static int run(final String[] args) throws InterruptedException {
+        val arguments = new HashMap<String, String>();
+        for (val arg : args) {
+            val separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Arguments must be given as name=value: " + arg);
+            }
+            arguments.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        val warmupSeconds = intArgument(arguments, "warmup", 10);
+        val durationSeconds = intArgument(arguments, "duration", 30);
+        val concurrency = intArgument(arguments, "concurrency", 64);
+        val channelCount = intArgument(arguments, "channels", 4);
+        val payloadSize = intArgument(arguments, "payloadSize", 64);
+        val targetThroughput = intArgument(arguments, "targetThroughput", 10_000);
+
+        val wireMockServer = new WireMockServer(
+                new HarnessStubConfigurer().configure(WireMockConfiguration.options().dynamicPort(), null));
+        wireMockServer.start();
+
+        val channels = new ArrayList<ManagedChannel>();
+        try {
+            val payload = BenchmarkPayloads.payload(1, payloadSize);
+            wireMockServer.stubFor(
+                    post(urlPathEqualTo("/" + BenchmarkServiceGrpc.getUnaryMethodMethod().getFullMethodName()))
+                            .willReturn(
+                                    aResponse()
+                                            .withStatus(200)
+                                            .withHeader("Content-Type", GrpcUtil.CONTENT_TYPE_GRPC)
+                                            .withBody(messageAsJson(payload))));
+
+            for (int i = 0; i < channelCount; i++) {
+                channels.add(ManagedChannelBuilder
+                        .forAddress("localhost", wireMockServer.port())
+                        .usePlaintext()
+                        .build());
+            }
+
+            if (warmupSeconds > 0) {
+                run(channels, payload, concurrency, Duration.ofSeconds(warmupSeconds));
+            }
+            val result = run(channels, payload, concurrency, Duration.ofSeconds(durationSeconds));
+
+            System.out.printf(Locale.ROOT,
+                    "calls=%d, failures=%d, throughput=%.1f/s, p50=%.3fms, p99=%.3fms, p99.9=%.3fms, max=%.3fms%n",
+                    result.calls(),
+                    result.failures(),
+                    result.throughput(),
+                    result.latencyHistogram().getValueAtPercentile(50.0) / 1e6,
+                    result.latencyHistogram().getValueAtPercentile(99.0) / 1e6,
+                    result.latencyHistogram().getValueAtPercentile(99.9) / 1e6,
+                    result.latencyHistogram().getMaxValue() / 1e6);
+
+            if (result.failures() > 0 || result.throughput() < targetThroughput) {
+                System.out.printf(Locale.ROOT, "FAILED: target is %d calls/s without failures%n", targetThroughput);
+                return 1;
+            }
+            return 0;
+        } finally {
+            for (val channel : channels) {
+                channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            }
+            wireMockServer.stop();
+        }
+    }
+
+    private static Result run(
+            final List<ManagedChannel> channels, final Payload payload, final int concurrency,
+            final Duration duration) throws InterruptedException {
+        val startNanos = System.nanoTime();
+        val loadRun = new LoadRun(payload, startNanos + duration.toNanos(), concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            loadRun.call(BenchmarkServiceGrpc.newStub(channels.get(i % channels.size())));
+        }
+        loadRun.done.await();
+
+        return new Result(
+                loadRun.calls.sum(),
+                loadRun.failures.sum(),
+                Duration.ofNanos(System.nanoTime() - startNanos),
+                loadRun.latencyHistogram.copy());
+    }
+
+    private static int intArgument(final Map<String, String> arguments, final String name, final int defaultValue) {
+        val value = arguments.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
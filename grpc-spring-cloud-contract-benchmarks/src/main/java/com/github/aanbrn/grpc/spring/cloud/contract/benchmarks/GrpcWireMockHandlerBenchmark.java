@@ -0,0 +1,128 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.benchmarks;
+
+import com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer.GrpcWireMockHttpServerStubConfigurer;
+import com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcMultipleResponseFuture;
+import com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcSingleResponseFuture;
+import com.github.aanbrn.spring.cloud.contract.benchmarks.BenchmarkServiceGrpc;
+import com.github.aanbrn.spring.cloud.contract.benchmarks.BenchmarkServiceGrpc.BenchmarkServiceBlockingStub;
+import com.github.aanbrn.spring.cloud.contract.benchmarks.BenchmarkServiceGrpc.BenchmarkServiceStub;
+import com.github.aanbrn.spring.cloud.contract.benchmarks.Payload;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.MethodDescriptor;
+import io.grpc.internal.GrpcUtil;
+import lombok.val;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageWriter.messageAsJson;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageWriter.messagesAsJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GrpcWireMockHandlerBenchmark {
+
+    static class BenchmarkStubConfigurer extends GrpcWireMockHttpServerStubConfigurer {
+        BenchmarkStubConfigurer() {
+            super(List.of(BenchmarkServiceGrpc.getServiceDescriptor()));
+        }
+    }
+
+    @Param({"16", "1024", "16384"})
+    int payloadSize;
+
+    @Param({"1", "16", "256"})
+    int streamLength;
+
+    private WireMockServer wireMockServer;
+
+    private ManagedChannel channel;
+
+    private BenchmarkServiceBlockingStub blockingStub;
+
+    private BenchmarkServiceStub asyncStub;
+
+    private Payload payload;
+
+    private List<Payload> payloads;
+
+    @Setup
+    public void setUp() {
+        // The request journal would otherwise grow for the whole run and skew the later iterations
+        wireMockServer = new WireMockServer(
+                new BenchmarkStubConfigurer().configure(
+                        WireMockConfiguration.options().dynamicPort().disableRequestJournal(), null));
+        wireMockServer.start();
+
+        payload = BenchmarkPayloads.payload(1, payloadSize);
+        payloads = BenchmarkPayloads.payloads(streamLength, payloadSize);
+
+        stubMethod(BenchmarkServiceGrpc.getUnaryMethodMethod(), messageAsJson(payload));
+        stubMethod(BenchmarkServiceGrpc.getClientStreamingMethodMethod(), messageAsJson(payload));
+        stubMethod(BenchmarkServiceGrpc.getServerStreamingMethodMethod(), messagesAsJson(payloads));
+        stubMethod(BenchmarkServiceGrpc.getBidiStreamingMethodMethod(), messagesAsJson(payloads));
+
+        channel = ManagedChannelBuilder
+                .forAddress("localhost", wireMockServer.port())
+                .usePlaintext()
+                .maxInboundMessageSize(Integer.MAX_VALUE)
+                .build();
+        blockingStub = BenchmarkServiceGrpc.newBlockingStub(channel);
+        asyncStub = BenchmarkServiceGrpc.newStub(channel);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        wireMockServer.stop();
+    }
+
+    @Benchmark
+    public Payload unaryCall() {
+        return blockingStub.unaryMethod(payload);
+    }
+
+    @Benchmark
+    public Payload clientStreamingCall() throws ExecutionException, InterruptedException {
+        val responseFuture = new GrpcSingleResponseFuture<Payload>();
+        val requestObserver = asyncStub.clientStreamingMethod(responseFuture);
+        payloads.forEach(requestObserver::onNext);
+        requestObserver.onCompleted();
+        return responseFuture.get();
+    }
+
+    @Benchmark
+    public void serverStreamingCall(final Blackhole blackhole) {
+        blockingStub.serverStreamingMethod(payload).forEachRemaining(blackhole::consume);
+    }
+
+    @Benchmark
+    public List<Payload> bidiStreamingCall() throws ExecutionException, InterruptedException {
+        val responseFuture = new GrpcMultipleResponseFuture<Payload>();
+        val requestObserver = asyncStub.bidiStreamingMethod(responseFuture);
+        payloads.forEach(requestObserver::onNext);
+        requestObserver.onCompleted();
+        return responseFuture.get();
+    }
+
+    private void stubMethod(final MethodDescriptor<?, ?> methodDescriptor, final String responseBody) {
+        wireMockServer.stubFor(
+                post(urlPathEqualTo("/" + methodDescriptor.getFullMethodName()))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withHeader("Content-Type", GrpcUtil.CONTENT_TYPE_GRPC)
+                                        .withBody(responseBody)));
+    }
+}
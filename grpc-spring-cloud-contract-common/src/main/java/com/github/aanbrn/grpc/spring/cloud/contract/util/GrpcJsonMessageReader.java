@@ -0,0 +1,511 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.MapMaker;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
+import com.google.protobuf.util.JsonFormat.Parser;
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+public class GrpcJsonMessageReader implements Closeable {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final Parser jsonFormatParser = JsonFormat.parser();
+
+    private static final Set<String> wellKnownTypes = Set.of(
+            "google.protobuf.Any",
+            "google.protobuf.Duration",
+            "google.protobuf.FieldMask",
+            "google.protobuf.Timestamp",
+            "google.protobuf.Struct",
+            "google.protobuf.Value",
+            "google.protobuf.ListValue",
+            "google.protobuf.DoubleValue",
+            "google.protobuf.FloatValue",
+            "google.protobuf.Int64Value",
+            "google.protobuf.UInt64Value",
+            "google.protobuf.Int32Value",
+            "google.protobuf.UInt32Value",
+            "google.protobuf.BoolValue",
+            "google.protobuf.StringValue",
+            "google.protobuf.BytesValue");
+
+    private static final BigInteger maxUint64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+    private static final double floatEpsilon = 1e-6;
+
+    private static final Map<Descriptor, Map<String, FieldDescriptor>> fieldsByName =
+            new MapMaker().weakKeys().makeMap();
+
+    private final JsonParser parser;
+
+    private final Descriptor messageType;
+
+    private boolean started;
+
+    private boolean array;
+
+    private boolean finished;
+
+    public GrpcJsonMessageReader(@NonNull final JsonParser parser, @NonNull final Descriptor messageType) {
+        this.parser = parser;
+        this.messageType = messageType;
+    }
+
+    public static GrpcJsonMessageReader of(
+            @NonNull final String json, @NonNull final Descriptor messageType) throws IOException {
+        return new GrpcJsonMessageReader(jsonFactory.createParser(json), messageType);
+    }
+
+    public static DynamicMessage readMessage(
+            @NonNull final JsonParser parser, @NonNull final Descriptor messageType) throws IOException {
+        var token = parser.currentToken();
+        if (token == null) {
+            token = parser.nextToken();
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new InvalidProtocolBufferException(
+                    "Expect message object but got: " + token + " for " + messageType.getFullName());
+        }
+        val messageBuilder = DynamicMessage.newBuilder(messageType);
+        readFields(parser, messageBuilder, false);
+        return messageBuilder.build();
+    }
+
+    public DynamicMessage readNext() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (!started) {
+            started = true;
+            val token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                array = true;
+            } else if (token == JsonToken.START_OBJECT) {
+                finished = true;
+                return readMessage(parser, messageType);
+            } else {
+                finished = true;
+                return null;
+            }
+        }
+        if (array) {
+            val token = parser.nextToken();
+            if (token == JsonToken.END_ARRAY || token == null) {
+                finished = true;
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new InvalidProtocolBufferException(
+                        "Expect message object but got: " + token + " for " + messageType.getFullName());
+            }
+            val messageBuilder = DynamicMessage.newBuilder(messageType);
+            readFields(parser, messageBuilder, true);
+            return messageBuilder.build();
+        }
+        return null;
+    }
+
+    public List<DynamicMessage> readAll() throws IOException {
+        val result = new ArrayList<DynamicMessage>();
+        DynamicMessage message;
+        while ((message = readNext()) != null) {
+            result.add(message);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private static void readFields(
+            final JsonParser parser, final Message.Builder messageBuilder, final boolean unwrap) throws IOException {
+        val messageType = messageBuilder.getDescriptorForType();
+        val fields = fieldsByName(messageType);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            val fieldName = parser.currentName();
+            val field = fields.get(fieldName);
+            if (unwrap && (field == null || isWrapperProperty(fieldName))) {
+                readRemainingFields(parser, messageBuilder);
+                return;
+            }
+            if (field == null) {
+                throw new InvalidProtocolBufferException(
+                        "Cannot find field: " + fieldName + " in message " + messageType.getFullName());
+            }
+            parser.nextToken();
+            readField(parser, messageBuilder, field);
+        }
+    }
+
+    private static void readRemainingFields(final JsonParser parser, final Message.Builder messageBuilder)
+            throws IOException {
+        val remainingFields = objectMapper.createObjectNode();
+        do {
+            val fieldName = parser.currentName();
+            parser.nextToken();
+            remainingFields.set(fieldName, objectMapper.readTree(parser));
+        } while (parser.nextToken() == JsonToken.FIELD_NAME);
+
+        if (isWrapper(remainingFields)) {
+            messageBuilder.clear();
+            try (val clientValueParser = objectMapper.treeAsTokens(remainingFields.get("clientValue"))) {
+                val token = clientValueParser.nextToken();
+                if (token != JsonToken.START_OBJECT) {
+                    throw new InvalidProtocolBufferException(
+                            "Expect message object but got: " + token
+                                    + " for " + messageBuilder.getDescriptorForType().getFullName());
+                }
+                readFields(clientValueParser, messageBuilder, false);
+            }
+        } else {
+            try (val remainingFieldsParser = objectMapper.treeAsTokens(remainingFields)) {
+                remainingFieldsParser.nextToken();
+                readFields(remainingFieldsParser, messageBuilder, false);
+            }
+        }
+    }
+
+    private static boolean isWrapperProperty(final String fieldName) {
+        return "clientValue".equals(fieldName) || "serverValue".equals(fieldName) || "singleValue".equals(fieldName);
+    }
+
+    private static boolean isWrapper(final JsonNode node) {
+        return node.has("clientValue")
+                && node.has("serverValue")
+                && node.has("singleValue")
+                && node.get("singleValue").asBoolean();
+    }
+
+    private static void readField(
+            final JsonParser parser, final Message.Builder messageBuilder, final FieldDescriptor field)
+            throws IOException {
+        val token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            if (!field.isRepeated() && isNullValue(field)) {
+                messageBuilder.setField(field, field.getEnumType().findValueByNumber(0));
+            } else if (!field.isRepeated()
+                    && field.getJavaType() == FieldDescriptor.JavaType.MESSAGE
+                    && "google.protobuf.Value".equals(field.getMessageType().getFullName())) {
+                messageBuilder.setField(field, readWellKnownType(parser, field.getMessageType()));
+            }
+            return;
+        }
+
+        if (field.isMapField()) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new InvalidProtocolBufferException("Expect a map object but found: " + token);
+            }
+            val entryType = field.getMessageType();
+            val keyField = entryType.findFieldByName("key");
+            val valueField = entryType.findFieldByName("value");
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                val entryBuilder = DynamicMessage.newBuilder(entryType);
+                entryBuilder.setField(keyField, readMapKey(parser.currentName(), keyField));
+                parser.nextToken();
+                if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                    throw new InvalidProtocolBufferException("Map value cannot be null");
+                }
+                entryBuilder.setField(valueField, readValue(parser, valueField));
+                messageBuilder.addRepeatedField(field, entryBuilder.build());
+            }
+        } else if (field.isRepeated()) {
+            if (token != JsonToken.START_ARRAY) {
+                throw new InvalidProtocolBufferException("Expect an array but found: " + token);
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                    throw new InvalidProtocolBufferException("Repeated field elements cannot be null");
+                }
+                messageBuilder.addRepeatedField(field, readValue(parser, field));
+            }
+        } else {
+            messageBuilder.setField(field, readValue(parser, field));
+        }
+    }
+
+    private static Object readValue(final JsonParser parser, final FieldDescriptor field) throws IOException {
+        return switch (field.getJavaType()) {
+            case INT -> readInt(parser, field);
+            case LONG -> readLong(parser, field);
+            case FLOAT -> readFloat(parser);
+            case DOUBLE -> readDouble(parser);
+            case BOOLEAN -> readBoolean(parser);
+            case STRING -> readString(parser);
+            case BYTE_STRING -> readBytes(parser);
+            case ENUM -> readEnum(parser, field);
+            case MESSAGE -> {
+                if (isWellKnownType(field)) {
+                    yield readWellKnownType(parser, field.getMessageType());
+                }
+                yield readMessage(parser, field.getMessageType());
+            }
+        };
+    }
+
+    private static int readInt(final JsonParser parser, final FieldDescriptor field) throws IOException {
+        val unsigned = field.getType() == FieldDescriptor.Type.UINT32
+                || field.getType() == FieldDescriptor.Type.FIXED32;
+        final long value;
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT
+                && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+            value = parser.getLongValue();
+        } else {
+            try {
+                value = readDecimal(parser).longValueExact();
+            } catch (ArithmeticException e) {
+                throw new InvalidProtocolBufferException("Out of range int32 value: " + parser.getText());
+            }
+        }
+        if (unsigned) {
+            if (value < 0 || value > 0xFFFFFFFFL) {
+                throw new InvalidProtocolBufferException("Out of range uint32 value: " + parser.getText());
+            }
+        } else if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new InvalidProtocolBufferException("Out of range int32 value: " + parser.getText());
+        }
+        return (int) value;
+    }
+
+    private static long readLong(final JsonParser parser, final FieldDescriptor field) throws IOException {
+        val unsigned = field.getType() == FieldDescriptor.Type.UINT64
+                || field.getType() == FieldDescriptor.Type.FIXED64;
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT
+                && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+            val value = parser.getLongValue();
+            if (unsigned && value < 0) {
+                throw new InvalidProtocolBufferException("Out of range uint64 value: " + parser.getText());
+            }
+            return value;
+        }
+        final BigInteger value;
+        try {
+            value = readDecimal(parser).toBigIntegerExact();
+        } catch (ArithmeticException e) {
+            throw new InvalidProtocolBufferException("Not an integer value: " + parser.getText());
+        }
+        if (unsigned) {
+            if (value.signum() < 0 || value.compareTo(maxUint64) > 0) {
+                throw new InvalidProtocolBufferException("Out of range uint64 value: " + parser.getText());
+            }
+        } else if (value.bitLength() > 63) {
+            throw new InvalidProtocolBufferException("Out of range int64 value: " + parser.getText());
+        }
+        return value.longValue();
+    }
+
+    private static BigDecimal readDecimal(final JsonParser parser) throws IOException {
+        val token = parser.currentToken();
+        final BigDecimal value;
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            value = parser.getDecimalValue();
+        } else if (token == JsonToken.VALUE_STRING) {
+            try {
+                value = new BigDecimal(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                throw new InvalidProtocolBufferException("Not a numeric value: " + parser.getText());
+            }
+        } else {
+            throw new InvalidProtocolBufferException("Expect a numeric value but found: " + token);
+        }
+        if (value.stripTrailingZeros().scale() > 0) {
+            throw new InvalidProtocolBufferException("Not an integer value: " + parser.getText());
+        }
+        return value;
+    }
+
+    private static float readFloat(final JsonParser parser) throws IOException {
+        val value = readDouble(parser);
+        if (Double.isFinite(value) && Math.abs(value) > Float.MAX_VALUE * (1.0 + floatEpsilon)) {
+            throw new InvalidProtocolBufferException("Out of range float value: " + parser.getText());
+        }
+        return (float) value;
+    }
+
+    private static double readDouble(final JsonParser parser) throws IOException {
+        val token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            val value = parser.getDoubleValue();
+            if (Double.isInfinite(value)) {
+                throw new InvalidProtocolBufferException("Out of range double value: " + parser.getText());
+            }
+            return value;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            val text = parser.getText();
+            return switch (text) {
+                case "NaN" -> Double.NaN;
+                case "Infinity" -> Double.POSITIVE_INFINITY;
+                case "-Infinity" -> Double.NEGATIVE_INFINITY;
+                default -> {
+                    final double value;
+                    try {
+                        value = Double.parseDouble(text);
+                    } catch (NumberFormatException e) {
+                        throw new InvalidProtocolBufferException("Not a numeric value: " + text);
+                    }
+                    if (Double.isInfinite(value)) {
+                        throw new InvalidProtocolBufferException("Out of range double value: " + text);
+                    }
+                    yield value;
+                }
+            };
+        }
+        throw new InvalidProtocolBufferException("Expect a numeric value but found: " + token);
+    }
+
+    private static boolean readBoolean(final JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_TRUE -> true;
+            case VALUE_FALSE -> false;
+            case VALUE_STRING -> {
+                val text = parser.getText();
+                if ("true".equals(text)) {
+                    yield true;
+                } else if ("false".equals(text)) {
+                    yield false;
+                }
+                throw new InvalidProtocolBufferException("Invalid bool value: " + text);
+            }
+            default -> throw new InvalidProtocolBufferException(
+                    "Expect a boolean value but found: " + parser.currentToken());
+        };
+    }
+
+    private static String readString(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            throw new InvalidProtocolBufferException("Expect a string value but found: " + parser.currentToken());
+        }
+        return parser.getText();
+    }
+
+    private static Object readBytes(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            throw new InvalidProtocolBufferException("Expect a base64 string but found: " + parser.currentToken());
+        }
+        val text = parser.getText();
+        try {
+            return ByteString.copyFrom(Base64.getDecoder().decode(text));
+        } catch (IllegalArgumentException e) {
+            try {
+                return ByteString.copyFrom(Base64.getUrlDecoder().decode(text));
+            } catch (IllegalArgumentException ignored) {
+                throw new InvalidProtocolBufferException("Invalid base64 value: " + text);
+            }
+        }
+    }
+
+    private static EnumValueDescriptor readEnum(final JsonParser parser, final FieldDescriptor field)
+            throws IOException {
+        val enumType = field.getEnumType();
+        final EnumValueDescriptor value;
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            val text = parser.getText();
+            val byName = enumType.findValueByName(text);
+            if (byName != null) {
+                return byName;
+            }
+            final int number;
+            try {
+                number = Integer.parseInt(text);
+            } catch (NumberFormatException e) {
+                throw new InvalidProtocolBufferException(
+                        "Invalid enum value: " + text + " for enum type: " + enumType.getFullName());
+            }
+            value = enumType.isClosed()
+                    ? enumType.findValueByNumber(number)
+                    : enumType.findValueByNumberCreatingIfUnknown(number);
+        } else if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            val number = readInt(parser, field);
+            value = enumType.isClosed()
+                    ? enumType.findValueByNumber(number)
+                    : enumType.findValueByNumberCreatingIfUnknown(number);
+        } else {
+            throw new InvalidProtocolBufferException("Expect an enum value but found: " + parser.currentToken());
+        }
+        if (value == null) {
+            throw new InvalidProtocolBufferException(
+                    "Invalid enum value: " + parser.getText() + " for enum type: " + enumType.getFullName());
+        }
+        return value;
+    }
+
+    private static Object readMapKey(final String key, final FieldDescriptor keyField) throws IOException {
+        try {
+            return switch (keyField.getJavaType()) {
+                case INT -> {
+                    val unsigned = keyField.getType() == FieldDescriptor.Type.UINT32
+                            || keyField.getType() == FieldDescriptor.Type.FIXED32;
+                    yield unsigned ? Integer.parseUnsignedInt(key) : Integer.parseInt(key);
+                }
+                case LONG -> {
+                    val unsigned = keyField.getType() == FieldDescriptor.Type.UINT64
+                            || keyField.getType() == FieldDescriptor.Type.FIXED64;
+                    yield unsigned ? Long.parseUnsignedLong(key) : Long.parseLong(key);
+                }
+                case BOOLEAN -> {
+                    if ("true".equals(key)) {
+                        yield true;
+                    } else if ("false".equals(key)) {
+                        yield false;
+                    }
+                    throw new InvalidProtocolBufferException("Invalid bool value: " + key);
+                }
+                case STRING -> key;
+                default -> throw new InvalidProtocolBufferException("Invalid map key type: " + keyField.getType());
+            };
+        } catch (NumberFormatException e) {
+            throw new InvalidProtocolBufferException("Invalid map key: " + key);
+        }
+    }
+
+    private static DynamicMessage readWellKnownType(final JsonParser parser, final Descriptor messageType)
+            throws IOException {
+        val messageBuilder = DynamicMessage.newBuilder(messageType);
+        jsonFormatParser.merge(objectMapper.writeValueAsString(objectMapper.readTree(parser)), messageBuilder);
+        return messageBuilder.build();
+    }
+
+    private static boolean isWellKnownType(final FieldDescriptor field) {
+        return field.getJavaType() == FieldDescriptor.JavaType.MESSAGE
+                && wellKnownTypes.contains(field.getMessageType().getFullName());
+    }
+
+    private static boolean isNullValue(final FieldDescriptor field) {
+        return field.getJavaType() == FieldDescriptor.JavaType.ENUM
+                && "google.protobuf.NullValue".equals(field.getEnumType().getFullName());
+    }
+
+    private static Map<String, FieldDescriptor> fieldsByName(final Descriptor messageType) {
+        return fieldsByName.computeIfAbsent(messageType, key -> {
+            val result = new HashMap<String, FieldDescriptor>();
+            for (val field : key.getFields()) {
+                result.put(field.getName(), field);
+                result.put(field.getJsonName(), field);
+            }
+            return Map.copyOf(result);
+        });
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor.JavaType;
+import com.google.protobuf.MapEntry;
+import com.google.protobuf.Message;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+
+@UtilityClass
+public class GrpcJsonMessageWriter {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    public static String messageAsJson(@NonNull final Message message) {
+        val writer = new StringWriter();
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            writeMessage(generator, message);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    public static String messagesAsJson(@NonNull final List<? extends Message> messages) {
+        return messagesAsJson(messages.iterator(), false);
+    }
+
+    public static String messagesAsJson(
+            @NonNull final List<? extends Message> messages, final boolean asDslProperties) {
+        return messagesAsJson(messages.iterator(), asDslProperties);
+    }
+
+    public static String messagesAsJson(@NonNull final Iterator<? extends Message> messages) {
+        return messagesAsJson(messages, false);
+    }
+
+    public static String messagesAsJson(
+            @NonNull final Iterator<? extends Message> messages, final boolean asDslProperties) {
+        val writer = new StringWriter();
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            generator.writeStartArray();
+            while (messages.hasNext()) {
+                val message = messages.next();
+                if (asDslProperties) {
+                    writeDslProperty(generator, message);
+                } else {
+                    writeMessage(generator, message);
+                }
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    public static void writeMessage(
+            @NonNull final JsonGenerator generator, @NonNull final Message message) throws IOException {
+        generator.writeStartObject();
+        for (val field : message.getDescriptorForType().getFields()) {
+            generator.writeFieldName(field.getName());
+            if (field.isMapField()) {
+                writeMapField(generator, message, field);
+            } else if (field.isRepeated()) {
+                val count = message.getRepeatedFieldCount(field);
+                generator.writeStartArray();
+                for (int i = 0; i < count; i++) {
+                    writeValue(generator, field, message.getRepeatedField(field, i));
+                }
+                generator.writeEndArray();
+            } else if (field.getJavaType() == JavaType.MESSAGE && !message.hasField(field)) {
+                generator.writeNull();
+            } else {
+                writeValue(generator, field, message.getField(field));
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeDslProperty(final JsonGenerator generator, final Message message) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("clientValue");
+        writeMessage(generator, message);
+        generator.writeFieldName("serverValue");
+        writeMessage(generator, message);
+        generator.writeBooleanField("singleValue", true);
+        generator.writeEndObject();
+    }
+
+    private static void writeMapField(
+            final JsonGenerator generator, final Message message, final FieldDescriptor field) throws IOException {
+        val valueField = field.getMessageType().findFieldByName("value");
+        val count = message.getRepeatedFieldCount(field);
+        generator.writeStartObject();
+        for (int i = 0; i < count; i++) {
+            val entry = message.getRepeatedField(field, i);
+            final Object key;
+            final Object value;
+            if (entry instanceof MapEntry<?, ?> mapEntry) {
+                key = mapEntry.getKey();
+                value = mapEntry.getValue();
+            } else {
+                val entryMessage = (Message) entry;
+                key = entryMessage.getField(field.getMessageType().findFieldByName("key"));
+                value = entryMessage.getField(valueField);
+            }
+            generator.writeFieldName(String.valueOf(key));
+            writeValue(generator, valueField, value);
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeValue(
+            final JsonGenerator generator, final FieldDescriptor field, final Object value) throws IOException {
+        switch (field.getJavaType()) {
+            case INT -> {
+                if (field.getType() == FieldDescriptor.Type.UINT32
+                        || field.getType() == FieldDescriptor.Type.FIXED32) {
+                    generator.writeNumber(Integer.toUnsignedLong((Integer) value));
+                } else {
+                    generator.writeNumber((Integer) value);
+                }
+            }
+            case LONG -> {
+                val longValue = (long) (Long) value;
+                val unsigned = field.getType() == FieldDescriptor.Type.UINT64
+                        || field.getType() == FieldDescriptor.Type.FIXED64;
+                if (unsigned && longValue < 0) {
+                    generator.writeNumber(new BigInteger(Long.toUnsignedString(longValue)));
+                } else {
+                    generator.writeNumber(longValue);
+                }
+            }
+            case FLOAT -> generator.writeNumber((Float) value);
+            case DOUBLE -> generator.writeNumber((Double) value);
+            case BOOLEAN -> generator.writeBoolean((Boolean) value);
+            case STRING -> generator.writeString((String) value);
+            case BYTE_STRING -> generator.writeString(
+                    Base64.getEncoder().encodeToString(((ByteString) value).toByteArray()));
+            case ENUM -> generator.writeString(((EnumValueDescriptor) value).getName());
+            case MESSAGE -> writeMessage(generator, (Message) value);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.util;
+
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Renders messages in the body format Spring Cloud Contract generates stubs and assertions for, that is the
+ * {@code toString()} of {@link GrpcUtils#messageAsMap(Message)}, without building the intermediate map tree.
+ */
+@UtilityClass
+public class GrpcStringMessageWriter {
+
+    public static String messageAsString(@NonNull final Message message) {
+        val builder = new StringBuilder();
+        writeMessage(builder, message);
+        return builder.toString();
+    }
+
+    public static String messagesAsString(@NonNull final List<? extends Message> messages) {
+        return messagesAsString(messages.iterator(), false);
+    }
+
+    public static String messagesAsString(
+            @NonNull final List<? extends Message> messages, final boolean asDslProperties) {
+        return messagesAsString(messages.iterator(), asDslProperties);
+    }
+
+    public static String messagesAsString(
+            @NonNull final Iterator<? extends Message> messages, final boolean asDslProperties) {
+        val builder = new StringBuilder();
+        builder.append('[');
+        while (messages.hasNext()) {
+            val message = messages.next();
+            if (asDslProperties) {
+                writeDslProperty(builder, message);
+            } else {
+                writeMessage(builder, message);
+            }
+            if (messages.hasNext()) {
+                builder.append(", ");
+            }
+        }
+        return builder.append(']').toString();
+    }
+
+    public static void writeMessage(@NonNull final StringBuilder builder, @NonNull final Message message) {
+        builder.append('{');
+        val fields = message.getDescriptorForType().getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            val field = fields.get(i);
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(field.getName()).append('=');
+            if (field.isMapField()) {
+                writeMapField(builder, message, field);
+            } else if (field.isRepeated()) {
+                val count = message.getRepeatedFieldCount(field);
+                builder.append('[');
+                for (int j = 0; j < count; j++) {
+                    if (j > 0) {
+                        builder.append(", ");
+                    }
+                    writeValue(builder, message.getRepeatedField(field, j));
+                }
+                builder.append(']');
+            } else {
+                writeValue(builder, message.getField(field));
+            }
+        }
+        builder.append('}');
+    }
+
+    private static void writeDslProperty(final StringBuilder builder, final Message message) {
+        // Matches DslProperty.toString(), which is what the generated assertions compare streamed bodies with
+        builder.append("DslProperty{\nclientValue=");
+        writeMessage(builder, message);
+        builder.append(", \n\tserverValue=");
+        writeMessage(builder, message);
+        builder.append('}');
+    }
+
+    private static void writeMapField(final StringBuilder builder, final Message message, final FieldDescriptor field) {
+        val keyField = field.getMessageType().findFieldByName("key");
+        val valueField = field.getMessageType().findFieldByName("value");
+        val count = message.getRepeatedFieldCount(field);
+        builder.append('{');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            val entry = (Message) message.getRepeatedField(field, i);
+            builder.append(entry.getField(keyField)).append('=');
+            writeValue(builder, entry.getField(valueField));
+        }
+        builder.append('}');
+    }
+
+    private static void writeValue(final StringBuilder builder, final Object value) {
+        if (value instanceof Message message) {
+            writeMessage(builder, message);
+        } else {
+            builder.append(value);
+        }
+    }
+}
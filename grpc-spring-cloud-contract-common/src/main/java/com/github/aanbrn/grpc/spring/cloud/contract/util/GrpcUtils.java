@@ -1,22 +1,18 @@
 package com.github.aanbrn.grpc.spring.cloud.contract.util;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.protobuf.Descriptors.Descriptor;
 import com.google.protobuf.Descriptors.FieldDescriptor;
-import com.google.protobuf.Descriptors.FieldDescriptor.JavaType;
 import com.google.protobuf.DynamicMessage;
-import com.google.protobuf.MapEntry;
 import com.google.protobuf.Message;
-import com.google.protobuf.util.JsonFormat;
-import com.google.protobuf.util.JsonFormat.Parser;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 import lombok.val;
 
 import java.io.IOException;
-import java.io.StringWriter;
 import java.util.*;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -28,8 +24,6 @@ public class GrpcUtils {
 
     private static final JsonFactory jsonFactory = new JsonFactory();
 
-    private static final Parser jsonFormatParser = JsonFormat.parser();
-
     public static String extractMethodName(@NonNull final String uriPath) {
         checkArgument(uriPath.charAt(0) == '/', "Argument 'uriPath' must start with a slash");
 
@@ -38,25 +32,9 @@ public class GrpcUtils {
 
     public static List<DynamicMessage> messagesFromJson(
             @NonNull final String json, @NonNull final Descriptor messageType) throws IOException {
-        val rootNode = objectMapper.readTree(json);
-        val sources = new ArrayList<JsonNode>();
-        if (rootNode.isArray()) {
-            val elementsIt = rootNode.elements();
-            while (elementsIt.hasNext()) {
-                val element = elementsIt.next();
-                if (element.has("clientValue")
-                        && element.has("serverValue")
-                        && element.has("singleValue")
-                        && element.get("singleValue").asBoolean()) {
-                    sources.add(element.get("clientValue"));
-                } else {
-                    sources.add(element);
-                }
-            }
-        } else if (rootNode.isObject()) {
-            sources.add(rootNode);
+        try (GrpcJsonMessageReader reader = GrpcJsonMessageReader.of(json, messageType)) {
+            return reader.readAll();
         }
-        return messagesFromJson(sources, messageType);
     }
 
     public static List<DynamicMessage> messagesFromJson(
@@ -66,18 +44,18 @@ public class GrpcUtils {
         }
         val result = new ArrayList<DynamicMessage>(jsonNodes.size());
         for (val jsonNode : jsonNodes) {
-            StringWriter writer = new StringWriter();
-            objectMapper.writeTree(jsonFactory.createGenerator(writer), jsonNode);
-            result.add(messageFromJson(writer.toString(), messageType));
+            try (JsonParser parser = objectMapper.treeAsTokens(jsonNode)) {
+                result.add(GrpcJsonMessageReader.readMessage(parser, messageType));
+            }
         }
         return result;
     }
 
     public static DynamicMessage messageFromJson(
             @NonNull final String json, @NonNull final Descriptor messageType) throws IOException {
-        val messageBuilder = DynamicMessage.newBuilder(messageType);
-        jsonFormatParser.merge(json, messageBuilder);
-        return messageBuilder.build();
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return GrpcJsonMessageReader.readMessage(parser, messageType);
+        }
     }
 
     public static List<Map<String, Object>> messagesAsList(@NonNull final List<? extends Message> messages) {
@@ -100,10 +78,8 @@ public class GrpcUtils {
                 } else {
                     fieldValue = repeatedFieldAsList(message, field);
                 }
-            } else if (field.getJavaType() == JavaType.MESSAGE) {
-                fieldValue = messageAsMap((DynamicMessage) message.getField(field));
             } else {
-                fieldValue = message.getField(field);
+                fieldValue = valueAsObject(message.getField(field));
             }
             result.put(field.getName(), fieldValue);
         }
@@ -117,12 +93,7 @@ public class GrpcUtils {
         val count = message.getRepeatedFieldCount(field);
         val result = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
-            val value = message.getRepeatedField(field, i);
-            if (value instanceof Message) {
-                result.add(messageAsMap((Message) value));
-            } else {
-                result.add(value);
-            }
+            result.add(valueAsObject(message.getRepeatedField(field, i)));
         }
         return result;
     }
@@ -131,16 +102,18 @@ public class GrpcUtils {
             @NonNull final Message message, @NonNull final FieldDescriptor field) {
         checkArgument(field.isMapField(), "Argument 'field' must be a map field");
 
+        val keyField = field.getMessageType().findFieldByName("key");
+        val valueField = field.getMessageType().findFieldByName("value");
         val count = message.getRepeatedFieldCount(field);
         val result = new LinkedHashMap<>(count);
         for (int i = 0; i < count; i++) {
-            val entry = (MapEntry<?, ?>) message.getRepeatedField(field, i);
-            if (field.getJavaType() == JavaType.MESSAGE) {
-                result.put(entry.getKey(), messageAsMap((DynamicMessage) entry.getValue()));
-            } else {
-                result.put(entry.getKey(), entry.getValue());
-            }
+            val entry = (Message) message.getRepeatedField(field, i);
+            result.put(entry.getField(keyField), valueAsObject(entry.getField(valueField)));
         }
         return result;
     }
+
+    private static Object valueAsObject(final Object value) {
+        return value instanceof Message message ? messageAsMap(message) : value;
+    }
 }
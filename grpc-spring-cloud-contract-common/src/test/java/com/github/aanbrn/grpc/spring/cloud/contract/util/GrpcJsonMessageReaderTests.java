@@ -0,0 +1,187 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.util;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.util.JsonFormat;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.TestMessageTypes.allKinds;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.TestMessageTypes.allKindsMessage;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.TestMessageTypes.nested;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.TestMessageTypes.nestedMessage;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GrpcJsonMessageReaderTests {
+
+    @Test
+    void shouldReadEveryFieldKindAsJsonFormatDoes() throws Exception {
+        val message = allKindsMessage();
+        val json = JsonFormat.printer().print(message);
+
+        val read = readAll(json, allKinds);
+
+        assertThat(read).containsExactly(message);
+        assertThat(read.get(0)).isEqualTo(parseWithJsonFormat(json, allKinds));
+    }
+
+    @Test
+    void shouldReadProtoFieldNamesAsJsonFormatDoes() throws Exception {
+        val message = allKindsMessage();
+        val json = JsonFormat.printer().preservingProtoFieldNames().print(message);
+
+        assertThat(readAll(json, allKinds)).containsExactly(parseWithJsonFormat(json, allKinds));
+    }
+
+    @Test
+    void shouldReadDefaultValuesAsJsonFormatDoes() throws Exception {
+        val message = DynamicMessage.getDefaultInstance(allKinds);
+        val json = JsonFormat.printer().alwaysPrintFieldsWithNoPresence().print(message);
+
+        assertThat(readAll(json, allKinds)).containsExactly(parseWithJsonFormat(json, allKinds));
+    }
+
+    @Test
+    void shouldReadAlternativeScalarEncodingsAsJsonFormatDoes() throws Exception {
+        val json = """
+                {
+                  "int32Value": "42",
+                  "int64Value": 1.0e3,
+                  "uint64Value": "18446744073709551615",
+                  "floatValue": "NaN",
+                  "doubleValue": "-Infinity",
+                  "boolValue": "true",
+                  "bytesValue": "_-8=",
+                  "enumValue": 2,
+                  "stringMap": {},
+                  "nestedValue": null
+                }""";
+
+        assertThat(readAll(json, allKinds)).containsExactly(parseWithJsonFormat(json, allKinds));
+    }
+
+    @Test
+    void shouldReadArrayOfMessages() throws Exception {
+        val first = nestedMessage(1, "first");
+        val second = nestedMessage(2, "second");
+
+        val read = readAll(GrpcJsonMessageWriter.messagesAsJson(List.of(first, second)), nested);
+
+        assertThat(read).containsExactly(first, second);
+    }
+
+    @Test
+    void shouldUnwrapClientValueRegardlessOfPropertyOrder() throws Exception {
+        val expected = nestedMessage(1, "client");
+        val clientValue = "{\"id\": 1, \"name\": \"client\"}";
+
+        for (val json : List.of(
+                """
+                        [{"clientValue": %s, "serverValue": {"id": 2}, "singleValue": true}]""",
+                """
+                        [{"singleValue": true, "serverValue": {"id": 2}, "clientValue": %s}]""",
+                """
+                        [{"serverValue": {"id": 2}, "clientValue": %s, "singleValue": true}]""",
+                """
+                        [{"id": 3, "clientValue": %s, "serverValue": {}, "singleValue": true}]""",
+                """
+                        [{"extra": 3, "clientValue": %s, "serverValue": {}, "singleValue": true}]""")) {
+            assertThat(readAll(json.formatted(clientValue), nested)).as(json).containsExactly(expected);
+        }
+    }
+
+    @Test
+    void shouldReadMixedWrappedAndPlainMessages() throws Exception {
+        val json = """
+                [
+                  {"id": 1, "name": "plain"},
+                  {"clientValue": {"id": 2, "name": "wrapped"}, "serverValue": {"id": 2}, "singleValue": true}
+                ]""";
+
+        assertThat(readAll(json, nested)).containsExactly(nestedMessage(1, "plain"), nestedMessage(2, "wrapped"));
+    }
+
+    @Test
+    void shouldNotUnwrapIncompleteWrappers() {
+        for (val json : List.of(
+                """
+                        [{"clientValue": {"id": 1}, "serverValue": {"id": 2}, "singleValue": false}]""",
+                """
+                        [{"clientValue": {"id": 1}, "singleValue": true}]""",
+                """
+                        {"clientValue": {"id": 1}, "serverValue": {"id": 2}, "singleValue": true}""")) {
+            assertThatThrownBy(() -> readAll(json, nested))
+                    .as(json)
+                    .isInstanceOf(InvalidProtocolBufferException.class);
+        }
+    }
+
+    @Test
+    void shouldRejectWhatJsonFormatRejects() {
+        for (val json : List.of(
+                """
+                        {"unknownField": 1}""",
+                """
+                        {"int32Value": 2147483648}""",
+                """
+                        {"int32Value": 1.5}""",
+                """
+                        {"uint32Value": -1}""",
+                """
+                        {"uint64Value": "18446744073709551616"}""",
+                """
+                        {"floatValue": 3.5e38}""",
+                """
+                        {"doubleValue": 1e309}""",
+                """
+                        {"boolValue": "yes"}""",
+                """
+                        {"enumValue": "KIND_UNKNOWN"}""",
+                """
+                        {"repeatedInt32": [1, null]}""",
+                """
+                        {"nestedValue": []}""")) {
+            assertThatThrownBy(() -> parseWithJsonFormat(json, allKinds))
+                    .as(json)
+                    .isInstanceOf(InvalidProtocolBufferException.class);
+            assertThatThrownBy(() -> readAll(json, allKinds))
+                    .as(json)
+                    .isInstanceOf(InvalidProtocolBufferException.class);
+        }
+    }
+
+    @Test
+    void shouldRejectNonStringValuesOfStringFields() {
+        for (val json : List.of(
+                """
+                        {"stringValue": 1}""",
+                """
+                        {"stringValue": true}""",
+                """
+                        {"stringValue": {}}""",
+                """
+                        {"repeatedNested": [{"name": 2}]}""")) {
+            assertThatThrownBy(() -> readAll(json, allKinds))
+                    .as(json)
+                    .isInstanceOf(InvalidProtocolBufferException.class);
+        }
+    }
+
+    private static List<DynamicMessage> readAll(final String json, final Descriptor messageType) throws IOException {
+        try (val reader = GrpcJsonMessageReader.of(json, messageType)) {
+            return reader.readAll();
+        }
+    }
+
+    private static DynamicMessage parseWithJsonFormat(final String json, final Descriptor messageType)
+            throws IOException {
+        val builder = DynamicMessage.newBuilder(messageType);
+        JsonFormat.parser().merge(json, builder);
+        return builder.build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.util;
+
+import com.google.protobuf.DynamicMessage;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.contract.spec.internal.DslProperty;
+
+import java.util.List;
+
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcStringMessageWriter.messageAsString;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcStringMessageWriter.messagesAsString;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcUtils.messageAsMap;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcUtils.messagesAsList;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.TestMessageTypes.allKinds;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.TestMessageTypes.allKindsMessage;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.TestMessageTypes.nestedMessage;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GrpcStringMessageWriterTests {
+
+    @Test
+    void shouldWriteMessagesAsTheirMapsPrint() {
+        val message = allKindsMessage();
+
+        assertThat(messageAsString(message)).isEqualTo(messageAsMap(message).toString());
+        assertThat(messageAsString(DynamicMessage.getDefaultInstance(allKinds)))
+                .isEqualTo(messageAsMap(DynamicMessage.getDefaultInstance(allKinds)).toString());
+    }
+
+    @Test
+    void shouldWriteMessageListsAsTheirMapsPrint() {
+        val messages = List.of(nestedMessage(1, "first"), nestedMessage(2, "second"));
+
+        assertThat(messagesAsString(messages)).isEqualTo(messagesAsList(messages).toString());
+        assertThat(messagesAsString(List.of())).isEqualTo("[]");
+    }
+
+    @Test
+    void shouldWriteMessageListsAsDslPropertiesPrint() {
+        val messages = List.of(nestedMessage(1, "first"), nestedMessage(2, "second"));
+
+        assertThat(messagesAsString(messages, true))
+                .isEqualTo(messagesAsList(messages).stream().map(DslProperty::new).toList().toString());
+    }
+}
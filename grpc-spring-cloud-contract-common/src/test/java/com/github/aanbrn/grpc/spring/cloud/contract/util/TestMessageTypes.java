@@ -0,0 +1,243 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.util;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.EnumDescriptorProto;
+import com.google.protobuf.DescriptorProtos.EnumValueDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto.Label;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto.Type;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.DescriptorProtos.MessageOptions;
+import com.google.protobuf.DescriptorProtos.MethodDescriptorProto;
+import com.google.protobuf.DescriptorProtos.ServiceDescriptorProto;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.DescriptorValidationException;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.Struct;
+import com.google.protobuf.StructProto;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.TimestampProto;
+import com.google.protobuf.Value;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+@UtilityClass
+public class TestMessageTypes {
+
+    public static final Descriptor allKinds;
+
+    public static final Descriptor nested;
+
+    public static final Descriptor request;
+
+    public static final MethodDescriptor unaryMethod;
+
+    public static final MethodDescriptor clientStreamingMethod;
+
+    static {
+        final FileDescriptor fileDescriptor;
+        try {
+            fileDescriptor = FileDescriptor.buildFrom(
+                    FileDescriptorProto
+                            .newBuilder()
+                            .setName("test.proto")
+                            .setPackage("test")
+                            .setSyntax("proto3")
+                            .addDependency(TimestampProto.getDescriptor().getName())
+                            .addDependency(StructProto.getDescriptor().getName())
+                            .addEnumType(
+                                    EnumDescriptorProto
+                                            .newBuilder()
+                                            .setName("Kind")
+                                            .addValue(enumValue("KIND_UNSPECIFIED", 0))
+                                            .addValue(enumValue("KIND_FIRST", 1))
+                                            .addValue(enumValue("KIND_SECOND", 2)))
+                            .addMessageType(
+                                    DescriptorProto
+                                            .newBuilder()
+                                            .setName("Nested")
+                                            .addField(field("id", 1, Type.TYPE_INT64))
+                                            .addField(field("name", 2, Type.TYPE_STRING)))
+                            .addMessageType(
+                                    DescriptorProto
+                                            .newBuilder()
+                                            .setName("AllKinds")
+                                            .addField(field("int32_value", 1, Type.TYPE_INT32))
+                                            .addField(field("int64_value", 2, Type.TYPE_INT64))
+                                            .addField(field("uint32_value", 3, Type.TYPE_UINT32))
+                                            .addField(field("uint64_value", 4, Type.TYPE_UINT64))
+                                            .addField(field("sint32_value", 5, Type.TYPE_SINT32))
+                                            .addField(field("sint64_value", 6, Type.TYPE_SINT64))
+                                            .addField(field("fixed32_value", 7, Type.TYPE_FIXED32))
+                                            .addField(field("fixed64_value", 8, Type.TYPE_FIXED64))
+                                            .addField(field("sfixed32_value", 9, Type.TYPE_SFIXED32))
+                                            .addField(field("sfixed64_value", 10, Type.TYPE_SFIXED64))
+                                            .addField(field("float_value", 11, Type.TYPE_FLOAT))
+                                            .addField(field("double_value", 12, Type.TYPE_DOUBLE))
+                                            .addField(field("bool_value", 13, Type.TYPE_BOOL))
+                                            .addField(field("string_value", 14, Type.TYPE_STRING))
+                                            .addField(field("bytes_value", 15, Type.TYPE_BYTES))
+                                            .addField(field("enum_value", 16, Type.TYPE_ENUM, ".test.Kind"))
+                                            .addField(field("nested_value", 17, Type.TYPE_MESSAGE, ".test.Nested"))
+                                            .addField(repeated(field("repeated_int32", 18, Type.TYPE_INT32)))
+                                            .addField(repeated(
+                                                    field("repeated_nested", 19, Type.TYPE_MESSAGE, ".test.Nested")))
+                                            .addField(repeated(field(
+                                                    "string_map", 20, Type.TYPE_MESSAGE,
+                                                    ".test.AllKinds.StringMapEntry")))
+                                            .addField(repeated(field(
+                                                    "int_map", 21, Type.TYPE_MESSAGE, ".test.AllKinds.IntMapEntry")))
+                                            .addField(field(
+                                                    "timestamp_value", 22, Type.TYPE_MESSAGE,
+                                                    ".google.protobuf.Timestamp"))
+                                            .addField(field(
+                                                    "struct_value", 23, Type.TYPE_MESSAGE, ".google.protobuf.Struct"))
+                                            .addNestedType(mapEntry(
+                                                    "StringMapEntry",
+                                                    field("key", 1, Type.TYPE_STRING),
+                                                    field("value", 2, Type.TYPE_INT64)))
+                                            .addNestedType(mapEntry(
+                                                    "IntMapEntry",
+                                                    field("key", 1, Type.TYPE_INT32),
+                                                    field("value", 2, Type.TYPE_MESSAGE, ".test.Nested"))))
+                            .addMessageType(
+                                    DescriptorProto
+                                            .newBuilder()
+                                            .setName("Request")
+                                            .addField(field("id", 1, Type.TYPE_INT64))
+                                            .addField(field("name", 2, Type.TYPE_STRING))
+                                            .addField(field("amount", 3, Type.TYPE_DOUBLE))
+                                            .addField(field("ratio", 4, Type.TYPE_FLOAT))
+                                            .addField(field("big", 5, Type.TYPE_UINT64))
+                                            .addField(field("kind", 6, Type.TYPE_ENUM, ".test.Kind"))
+                                            .addField(field("nested", 7, Type.TYPE_MESSAGE, ".test.Nested"))
+                                            .addField(repeated(field("items", 8, Type.TYPE_MESSAGE, ".test.Nested")))
+                                            .addField(repeated(field("tags", 9, Type.TYPE_STRING)))
+                                            .addField(repeated(field(
+                                                    "counts", 10, Type.TYPE_MESSAGE, ".test.Request.CountsEntry")))
+                                            .addNestedType(mapEntry(
+                                                    "CountsEntry",
+                                                    field("key", 1, Type.TYPE_STRING),
+                                                    field("value", 2, Type.TYPE_INT64))))
+                            .addService(
+                                    ServiceDescriptorProto
+                                            .newBuilder()
+                                            .setName("TestService")
+                                            .addMethod(method("Unary").setClientStreaming(false))
+                                            .addMethod(method("ClientStreaming").setClientStreaming(true)))
+                            .build(),
+                    new FileDescriptor[]{TimestampProto.getDescriptor(), StructProto.getDescriptor()});
+        } catch (DescriptorValidationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+
+        allKinds = fileDescriptor.findMessageTypeByName("AllKinds");
+        nested = fileDescriptor.findMessageTypeByName("Nested");
+        request = fileDescriptor.findMessageTypeByName("Request");
+        unaryMethod = fileDescriptor.findServiceByName("TestService").findMethodByName("Unary");
+        clientStreamingMethod = fileDescriptor.findServiceByName("TestService").findMethodByName("ClientStreaming");
+    }
+
+    public static DynamicMessage allKindsMessage() {
+        val builder = DynamicMessage.newBuilder(allKinds);
+        set(builder, "int32_value", -42);
+        set(builder, "int64_value", Long.MIN_VALUE);
+        set(builder, "uint32_value", -1);
+        set(builder, "uint64_value", -1L);
+        set(builder, "sint32_value", Integer.MIN_VALUE);
+        set(builder, "sint64_value", Long.MAX_VALUE);
+        set(builder, "fixed32_value", 7);
+        set(builder, "fixed64_value", 8L);
+        set(builder, "sfixed32_value", -9);
+        set(builder, "sfixed64_value", -10L);
+        set(builder, "float_value", 0.1f);
+        set(builder, "double_value", 1.0e-300);
+        set(builder, "bool_value", true);
+        set(builder, "string_value", "text \"quoted\" é€");
+        set(builder, "bytes_value", ByteString.copyFrom(new byte[]{0, -1, 127, -128}));
+        set(builder, "enum_value", allKinds.getFile().findEnumTypeByName("Kind").findValueByName("KIND_SECOND"));
+        set(builder, "nested_value", nestedMessage(1, "nested"));
+        add(builder, "repeated_int32", 1);
+        add(builder, "repeated_int32", 2);
+        add(builder, "repeated_nested", nestedMessage(2, "first"));
+        add(builder, "repeated_nested", nestedMessage(3, "second"));
+        add(builder, "string_map", mapEntryMessage("string_map", "key", 5L));
+        add(builder, "int_map", mapEntryMessage("int_map", 6, nestedMessage(6, "value")));
+        set(builder, "timestamp_value", Timestamp.newBuilder().setSeconds(1_700_000_000L).setNanos(1000).build());
+        set(builder, "struct_value", Struct
+                .newBuilder()
+                .putFields("number", Value.newBuilder().setNumberValue(1.5).build())
+                .putFields("text", Value.newBuilder().setStringValue("value").build())
+                .build());
+        return builder.build();
+    }
+
+    public static DynamicMessage nestedMessage(final long id, final String name) {
+        val builder = DynamicMessage.newBuilder(nested);
+        set(builder, "id", id);
+        set(builder, "name", name);
+        return builder.build();
+    }
+
+    private static DynamicMessage mapEntryMessage(final String fieldName, final Object key, final Object value) {
+        val entryType = allKinds.findFieldByName(fieldName).getMessageType();
+        val builder = DynamicMessage.newBuilder(entryType);
+        set(builder, "key", key);
+        set(builder, "value", value);
+        return builder.build();
+    }
+
+    private static void set(final DynamicMessage.Builder builder, final String fieldName, final Object value) {
+        builder.setField(builder.getDescriptorForType().findFieldByName(fieldName), value);
+    }
+
+    private static void add(final DynamicMessage.Builder builder, final String fieldName, final Object value) {
+        builder.addRepeatedField(builder.getDescriptorForType().findFieldByName(fieldName), value);
+    }
+
+    private static FieldDescriptorProto.Builder field(final String name, final int number, final Type type) {
+        return FieldDescriptorProto
+                .newBuilder()
+                .setName(name)
+                .setNumber(number)
+                .setLabel(Label.LABEL_OPTIONAL)
+                .setType(type);
+    }
+
+    private static FieldDescriptorProto.Builder field(
+            final String name, final int number, final Type type, final String typeName) {
+        return field(name, number, type).setTypeName(typeName);
+    }
+
+    private static FieldDescriptorProto.Builder repeated(final FieldDescriptorProto.Builder field) {
+        return field.setLabel(Label.LABEL_REPEATED);
+    }
+
+    private static DescriptorProto.Builder mapEntry(
+            final String name, final FieldDescriptorProto.Builder key, final FieldDescriptorProto.Builder value) {
+        return DescriptorProto
+                .newBuilder()
+                .setName(name)
+                .setOptions(MessageOptions.newBuilder().setMapEntry(true))
+                .addField(key)
+                .addField(value);
+    }
+
+    private static MethodDescriptorProto.Builder method(final String name) {
+        return MethodDescriptorProto
+                .newBuilder()
+                .setName(name)
+                .setInputType(".test.Request")
+                .setOutputType(".test.Request");
+    }
+
+    private static EnumValueDescriptorProto.Builder enumValue(final String name, final int number) {
+        return EnumValueDescriptorProto
+                .newBuilder()
+                .setName(name)
+                .setNumber(number);
+    }
+}
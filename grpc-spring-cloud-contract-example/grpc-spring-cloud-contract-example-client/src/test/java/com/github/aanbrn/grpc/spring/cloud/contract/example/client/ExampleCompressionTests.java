@@ -0,0 +1,94 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.example.client;
+
+import com.github.aanbrn.grpc.spring.cloud.contract.example.client.ExampleCompressionTests.GzipExampleStubConfigurer;
+import com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer.GrpcWireMockHttpServerStubConfigurer;
+import com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer.GrpcWireMockOptions;
+import com.github.aanbrn.grpc.spring.cloud.contract.verifier.GrpcHttpVerifier;
+import com.github.aanbrn.grpc.spring.cloud.contract.verifier.GrpcHttpVerifierOptions;
+import com.github.aanbrn.spring.cloud.contract.example.ExampleServiceGrpc;
+import lombok.val;
+import net.devh.boot.grpc.client.channelfactory.GrpcChannelFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.contract.stubrunner.spring.AutoConfigureStubRunner;
+import org.springframework.cloud.contract.verifier.http.Request;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.contract.stubrunner.spring.StubRunnerProperties.StubsMode.LOCAL;
+
+@SpringBootTest(properties = "grpc.server.port=-1")
+@ActiveProfiles("test")
+@AutoConfigureStubRunner(
+        ids = "com.github.aanbrn:grpc-spring-cloud-contract-example-server:+:stubs",
+        stubsMode = LOCAL,
+        httpServerStubConfigurer = GzipExampleStubConfigurer.class
+)
+class ExampleCompressionTests {
+    static class GzipExampleStubConfigurer extends GrpcWireMockHttpServerStubConfigurer {
+        GzipExampleStubConfigurer() {
+            super(
+                    List.of(ExampleServiceGrpc.getServiceDescriptor()),
+                    GrpcWireMockOptions
+                            .builder()
+                            .maxCachedResponses(16)
+                            .responseCompression("gzip")
+                            .build());
+        }
+    }
+
+    @Autowired
+    GrpcChannelFactory grpcChannelFactory;
+
+    GrpcHttpVerifier httpVerifier;
+
+    @BeforeEach
+    void setUp() {
+        httpVerifier = new GrpcHttpVerifier(
+                grpcChannelFactory.createChannel("example"),
+                List.of(new ExampleServiceGrpc.ExampleServiceImplBase() {
+                }),
+                GrpcHttpVerifierOptions
+                        .builder()
+                        .compression("gzip")
+                        .build());
+    }
+
+    @Test
+    void shouldExchangeCompressedUnaryMessages() {
+        for (int i = 0; i < 2; i++) {
+            val response = httpVerifier.exchange(request("UnaryMethod", "{\"value\":1}"));
+
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.header("grpc-encoding")).isEqualTo("gzip");
+            assertThat(response.getBody().asString()).isEqualTo("{value=1}");
+        }
+    }
+
+    @Test
+    void shouldExchangeCompressedStreamedMessages() {
+        for (int i = 0; i < 2; i++) {
+            val response = httpVerifier.exchange(request("ServerStreamingMethod", "{\"value\":[1,2,3,4,5]}"));
+
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.header("grpc-encoding")).isEqualTo("gzip");
+            assertThat(response.getBody().asString())
+                    .startsWith("[DslProperty{\nclientValue={value=1}, \n\tserverValue={value=1}}, ")
+                    .endsWith("DslProperty{\nclientValue={value=5}, \n\tserverValue={value=5}}]");
+        }
+    }
+
+    private static Request request(final String methodName, final String body) {
+        return Request
+                .given()
+                .post("/com.github.aanbrn.spring.cloud.contract.example.ExampleService/" + methodName)
+                .header("Content-Type", "application/grpc")
+                .header("te", "trailers")
+                .body(body)
+                .build();
+    }
+}
@@ -1,6 +1,5 @@
 package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
 
-import com.github.tomakehurst.wiremock.http.StubRequestHandler;
 import com.google.protobuf.Descriptors.MethodDescriptor;
 import com.google.protobuf.DynamicMessage;
 import io.grpc.Status;
@@ -9,6 +8,7 @@ import io.grpc.stub.ServerCalls.BidiStreamingMethod;
 import io.grpc.stub.StreamObserver;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.val;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,17 +21,31 @@ class GrpcWireMockBidiStreamingMethodHandler
     private final MethodDescriptor methodDescriptor;
 
     @NonNull
-    private final StubRequestHandler stubRequestHandler;
+    private final GrpcWireMockStubRouter stubRouter;
+
+    private final int windowSize;
 
     @Override
     public StreamObserver<DynamicMessage> invoke(final StreamObserver<DynamicMessage> responseObserver) {
+        stubRouter.callStarted(methodDescriptor);
+
+        val responseEmitter = new GrpcWireMockResponseEmitter(responseObserver, stubRouter.getResponseDelayMode());
         return new StreamObserver<>() {
 
-            private final List<DynamicMessage> inputMessages = new ArrayList<>();
+            private List<DynamicMessage> inputMessages = new ArrayList<>();
 
             @Override
             public void onNext(DynamicMessage inputMessage) {
                 inputMessages.add(inputMessage);
+
+                if (windowSize > 0 && inputMessages.size() >= windowSize) {
+                    val windowMessages = inputMessages;
+                    inputMessages = new ArrayList<>(windowSize);
+                    stubRouter.route(
+                            new GrpcWireMockRequest(methodDescriptor, windowMessages),
+                            streamingResponder(
+                                    methodDescriptor, stubRouter.getResponseCache(), responseEmitter, false));
+                }
             }
 
             @Override
@@ -41,9 +55,13 @@ class GrpcWireMockBidiStreamingMethodHandler
 
             @Override
             public void onCompleted() {
-                stubRequestHandler.handle(
+                if (windowSize > 0 && inputMessages.isEmpty()) {
+                    responseEmitter.complete();
+                    return;
+                }
+                stubRouter.route(
                         new GrpcWireMockRequest(methodDescriptor, inputMessages),
-                        streamingResponder(methodDescriptor, responseObserver));
+                        streamingResponder(methodDescriptor, stubRouter.getResponseCache(), responseEmitter));
             }
         };
     }
@@ -0,0 +1,120 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static shaded.com.google.common.base.Preconditions.checkArgument;
+
+class GrpcWireMockBufferPool {
+
+    static final int MIN_BUFFER_SIZE = 4 * 1024;
+
+    static final int MAX_BUFFER_SIZE = 1024 * 1024;
+
+    private static final int MIN_SIZE_CLASS_SHIFT = Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+
+    private static final int MAX_SIZE_CLASS_SHIFT = Integer.numberOfTrailingZeros(MAX_BUFFER_SIZE);
+
+    private final int maxBuffersPerSizeClass;
+
+    private final Queue<byte[]>[] sizeClasses;
+
+    private final AtomicInteger[] sizeClassCounts;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder recycleCount = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    GrpcWireMockBufferPool(final int maxBuffersPerSizeClass) {
+        checkArgument(maxBuffersPerSizeClass >= 0, "Argument 'maxBuffersPerSizeClass' cannot be negative");
+
+        this.maxBuffersPerSizeClass = maxBuffersPerSizeClass;
+
+        val numSizeClasses = MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1;
+        this.sizeClasses = new Queue[numSizeClasses];
+        this.sizeClassCounts = new AtomicInteger[numSizeClasses];
+        for (int i = 0; i < numSizeClasses; i++) {
+            this.sizeClasses[i] = new ConcurrentLinkedQueue<>();
+            this.sizeClassCounts[i] = new AtomicInteger();
+        }
+    }
+
+    byte[] acquire(final int minCapacity) {
+        if (minCapacity > MAX_BUFFER_SIZE) {
+            missCount.increment();
+            return new byte[minCapacity];
+        }
+        val sizeClass = sizeClass(minCapacity);
+        val buffer = sizeClasses[sizeClass].poll();
+        if (buffer != null) {
+            sizeClassCounts[sizeClass].decrementAndGet();
+            hitCount.increment();
+            return buffer;
+        }
+        missCount.increment();
+        return new byte[1 << (sizeClass + MIN_SIZE_CLASS_SHIFT)];
+    }
+
+    void release(@NonNull final byte[] buffer) {
+        val length = buffer.length;
+        if (length < MIN_BUFFER_SIZE || length > MAX_BUFFER_SIZE || Integer.bitCount(length) != 1) {
+            return;
+        }
+        val sizeClass = Integer.numberOfTrailingZeros(length) - MIN_SIZE_CLASS_SHIFT;
+        if (sizeClassCounts[sizeClass].incrementAndGet() <= maxBuffersPerSizeClass) {
+            sizeClasses[sizeClass].offer(buffer);
+            recycleCount.increment();
+        } else {
+            sizeClassCounts[sizeClass].decrementAndGet();
+        }
+    }
+
+    long getHitCount() {
+        return hitCount.sum();
+    }
+
+    long getMissCount() {
+        return missCount.sum();
+    }
+
+    long getRecycleCount() {
+        return recycleCount.sum();
+    }
+
+    double getHitRate() {
+        val hits = hitCount.sum();
+        val total = hits + missCount.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    int getIdleBufferCount() {
+        var result = 0;
+        for (val sizeClassCount : sizeClassCounts) {
+            result += sizeClassCount.get();
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "GrpcWireMockBufferPool{hits=" + getHitCount()
+                + ", misses=" + getMissCount()
+                + ", recycled=" + getRecycleCount()
+                + ", idle=" + getIdleBufferCount() + "}";
+    }
+
+    private static int sizeClass(final int capacity) {
+        if (capacity <= MIN_BUFFER_SIZE) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros(capacity - 1) - MIN_SIZE_CLASS_SHIFT;
+    }
+}
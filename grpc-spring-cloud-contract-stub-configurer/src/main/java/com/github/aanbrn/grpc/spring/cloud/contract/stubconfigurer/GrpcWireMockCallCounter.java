@@ -0,0 +1,34 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class GrpcWireMockCallCounter {
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    public long getCount(@NonNull final String methodName) {
+        val count = counts.get(methodName);
+        return count != null ? count.sum() : 0;
+    }
+
+    public Map<String, Long> getCounts() {
+        val snapshot = new TreeMap<String, Long>();
+        counts.forEach((methodName, count) -> snapshot.put(methodName, count.sum()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    public void reset() {
+        counts.values().forEach(LongAdder::reset);
+    }
+
+    void callReceived(final String methodName) {
+        counts.computeIfAbsent(methodName, key -> new LongAdder()).increment();
+    }
+}
@@ -1,6 +1,5 @@
 package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
 
-import com.github.tomakehurst.wiremock.http.StubRequestHandler;
 import com.google.protobuf.Descriptors.MethodDescriptor;
 import com.google.protobuf.DynamicMessage;
 import io.grpc.Status;
@@ -21,10 +20,12 @@ class GrpcWireMockClientStreamingMethodHandler
     private final MethodDescriptor methodDescriptor;
 
     @NonNull
-    private final StubRequestHandler stubRequestHandler;
+    private final GrpcWireMockStubRouter stubRouter;
 
     @Override
     public StreamObserver<DynamicMessage> invoke(final StreamObserver<DynamicMessage> responseObserver) {
+        stubRouter.callStarted(methodDescriptor);
+
         return new StreamObserver<>() {
 
             private final List<DynamicMessage> inputMessages = new ArrayList<>();
@@ -41,9 +42,9 @@ class GrpcWireMockClientStreamingMethodHandler
 
             @Override
             public void onCompleted() {
-                stubRequestHandler.handle(
+                stubRouter.route(
                         new GrpcWireMockRequest(methodDescriptor, inputMessages),
-                        unaryResponder(methodDescriptor, responseObserver));
+                        unaryResponder(methodDescriptor, stubRouter.getResponseCache(), responseObserver));
             }
         };
     }
@@ -1,6 +1,5 @@
 package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
 
-import com.github.tomakehurst.wiremock.http.StubRequestHandler;
 import com.google.protobuf.DynamicMessage;
 import io.grpc.InternalChannelz.SocketStats;
 import io.grpc.*;
@@ -9,6 +8,7 @@ import io.grpc.internal.GrpcUtil;
 import io.grpc.internal.InternalServer;
 import io.grpc.internal.ServerImplBuilder;
 import io.grpc.internal.ServerListener;
+import io.grpc.internal.SharedResourceHolder;
 import io.grpc.protobuf.ProtoMethodDescriptorSupplier;
 import io.grpc.protobuf.ProtoUtils;
 import io.grpc.stub.ServerCalls;
@@ -17,6 +17,9 @@ import lombok.val;
 import wiremock.javax.servlet.ServletException;
 import wiremock.javax.servlet.http.HttpServletRequest;
 import wiremock.javax.servlet.http.HttpServletResponse;
+import wiremock.org.eclipse.jetty.http2.server.AbstractHTTP2ServerConnectionFactory;
+import wiremock.org.eclipse.jetty.io.Connection;
+import wiremock.org.eclipse.jetty.io.EndPoint;
 import wiremock.org.eclipse.jetty.server.Handler;
 import wiremock.org.eclipse.jetty.server.Request;
 import wiremock.org.eclipse.jetty.server.Response;
@@ -27,6 +30,10 @@ import java.io.IOException;
 import java.net.SocketAddress;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static shaded.com.google.common.base.Preconditions.checkArgument;
@@ -36,23 +43,42 @@ class GrpcWireMockHandler extends HandlerWrapper implements InternalServer {
 
     private final Server server;
 
+    private final GrpcWireMockOptions options;
+
+    private final GrpcWireMockBufferPool bufferPool;
+
+    private final ExecutorService ownedExecutor;
+
+    private final Map<EndPoint, GrpcWireMockServerTransport> transports = new ConcurrentHashMap<>();
+
     private List<? extends Factory> streamTracerFactories;
 
+    private ScheduledExecutorService scheduledExecutorService;
+
     private final AtomicReference<ServerListener> serverListener = new AtomicReference<>();
 
     GrpcWireMockHandler(
             @NonNull final Handler handler,
-            @NonNull final StubRequestHandler stubRequestHandler,
-            @NonNull final Collection<ServiceDescriptor> services) {
+            @NonNull final GrpcWireMockStubRouter stubRouter,
+            @NonNull final Collection<ServiceDescriptor> services,
+            @NonNull final GrpcWireMockOptions options) {
         checkArgument(!services.isEmpty(), "Argument 'services' cannot be empty");
 
         setHandler(handler);
 
+        this.options = options;
+        this.bufferPool = new GrpcWireMockBufferPool(options.getMaxPooledBuffersPerSizeClass());
+
         val serverBuilder = new ServerImplBuilder(streamTracerFactories -> {
             this.streamTracerFactories = List.copyOf(streamTracerFactories);
             return GrpcWireMockHandler.this;
         });
 
+        if (stubRouter.getMetrics() != null) {
+            serverBuilder.addStreamTracerFactory(stubRouter.getMetrics().getStreamTracerFactory());
+            stubRouter.getMetrics().bindBufferPool(bufferPool);
+        }
+
         for (val service : services) {
             val serverServiceDefinition = ServerServiceDefinition.builder(service.getName());
 
@@ -64,8 +90,12 @@ class GrpcWireMockHandler extends HandlerWrapper implements InternalServer {
                         ((ProtoMethodDescriptorSupplier) method.getSchemaDescriptor()).getMethodDescriptor();
                 val methodRequestMarshaller = ProtoUtils.marshaller(
                         DynamicMessage.getDefaultInstance(protoMethod.getInputType()));
-                val methodResponseMarshaller = ProtoUtils.marshaller(
+                MethodDescriptor.Marshaller<DynamicMessage> methodResponseMarshaller = ProtoUtils.marshaller(
                         DynamicMessage.getDefaultInstance(protoMethod.getOutputType()));
+                if (stubRouter.getResponseCache() != null) {
+                    methodResponseMarshaller = new GrpcWireMockResponseMarshaller(
+                            methodResponseMarshaller, stubRouter.getResponseCache());
+                }
 
                 serverServiceDefinition.addMethod(
                         ServerMethodDefinition.create(
@@ -73,16 +103,17 @@ class GrpcWireMockHandler extends HandlerWrapper implements InternalServer {
                                 switch (method.getType()) {
                                     case UNARY -> ServerCalls.asyncUnaryCall(
                                             new GrpcWireMockUnaryMethodHandler(
-                                                    protoMethod, stubRequestHandler));
+                                                    protoMethod, stubRouter));
                                     case SERVER_STREAMING -> ServerCalls.asyncServerStreamingCall(
                                             new GrpcWireMockServerStreamingMethodHandler(
-                                                    protoMethod, stubRequestHandler));
+                                                    protoMethod, stubRouter));
                                     case CLIENT_STREAMING -> ServerCalls.asyncClientStreamingCall(
                                             new GrpcWireMockClientStreamingMethodHandler(
-                                                    protoMethod, stubRequestHandler));
+                                                    protoMethod, stubRouter));
                                     case BIDI_STREAMING -> ServerCalls.asyncBidiStreamingCall(
                                             new GrpcWireMockBidiStreamingMethodHandler(
-                                                    protoMethod, stubRequestHandler));
+                                                    protoMethod, stubRouter,
+                                                    options.getBidiStreamingWindowSize()));
                                     default -> throw new IllegalStateException(
                                             "Unknown gRPC method type: " + method.getType());
                                 }));
@@ -91,6 +122,42 @@ class GrpcWireMockHandler extends HandlerWrapper implements InternalServer {
             serverBuilder.addService(serverServiceDefinition.build());
         }
 
+        if (options.getExecutor() != null) {
+            serverBuilder.executor(options.getExecutor());
+            this.ownedExecutor = null;
+        } else {
+            switch (options.getExecutorMode()) {
+                case DIRECT -> {
+                    serverBuilder.directExecutor();
+                    this.ownedExecutor = null;
+                }
+                case VIRTUAL_THREADS -> {
+                    this.ownedExecutor = GrpcWireMockUtils.newVirtualThreadPerTaskExecutor();
+                    serverBuilder.executor(this.ownedExecutor);
+                }
+                default -> this.ownedExecutor = null;
+            }
+        }
+
+        if (options.getCompressorRegistry() != null) {
+            serverBuilder.compressorRegistry(options.getCompressorRegistry());
+        }
+        if (options.getDecompressorRegistry() != null) {
+            serverBuilder.decompressorRegistry(options.getDecompressorRegistry());
+        }
+        if (options.getResponseCompression() != null) {
+            serverBuilder.intercept(new ServerInterceptor() {
+                @Override
+                public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+                        final ServerCall<ReqT, RespT> call,
+                        final Metadata headers,
+                        final ServerCallHandler<ReqT, RespT> next) {
+                    call.setCompression(options.getResponseCompression());
+                    return next.startCall(call, headers);
+                }
+            });
+        }
+
         this.server = serverBuilder.build();
     }
 
@@ -146,22 +213,88 @@ class GrpcWireMockHandler extends HandlerWrapper implements InternalServer {
         val serverListener = this.serverListener.get();
         checkState(serverListener != null, "gRPC server must be running");
 
-        val serverTransport =
-                new GrpcWireMockServerTransport(baseRequest, (Response) response, streamTracerFactories);
-        serverTransport.start(serverListener.transportCreated(serverTransport));
+        val endPoint = baseRequest.getHttpChannel().getEndPoint();
+        val serverTransport = transports.computeIfAbsent(endPoint, newEndPoint -> {
+            val newServerTransport = new GrpcWireMockServerTransport(
+                    newEndPoint, scheduledExecutorService, streamTracerFactories, bufferPool,
+                    options.getInboundChunkSize(), options.getInboundWindowSize());
+            newServerTransport.start(serverListener.transportCreated(newServerTransport));
+            newEndPoint.getConnection().addListener(new Connection.Listener() {
+                @Override
+                public void onOpened(final Connection connection) {
+                }
+
+                @Override
+                public void onClosed(final Connection connection) {
+                    closeTransport(newEndPoint);
+                }
+            });
+            return newServerTransport;
+        });
+        if (!endPoint.isOpen()) {
+            closeTransport(endPoint);
+            return;
+        }
+
+        serverTransport.startStream(baseRequest, (Response) response);
+    }
+
+    private void closeTransport(final EndPoint endPoint) {
+        val serverTransport = transports.remove(endPoint);
+        if (serverTransport != null) {
+            serverTransport.connectionClosed();
+        }
     }
 
     @Override
     protected void doStart() throws Exception {
+        this.scheduledExecutorService = SharedResourceHolder.get(GrpcUtil.TIMER_SERVICE);
+
+        configureHttp2Connectors();
+
         super.doStart();
 
         this.server.start();
     }
 
+    private void configureHttp2Connectors() {
+        for (val connector : getServer().getConnectors()) {
+            val connectionFactory = connector.getConnectionFactory(AbstractHTTP2ServerConnectionFactory.class);
+            if (connectionFactory == null) {
+                continue;
+            }
+            if (options.getHttp2MaxConcurrentStreams() != null) {
+                connectionFactory.setMaxConcurrentStreams(options.getHttp2MaxConcurrentStreams());
+            }
+            if (options.getHttp2InitialStreamRecvWindow() != null) {
+                connectionFactory.setInitialStreamRecvWindow(options.getHttp2InitialStreamRecvWindow());
+            }
+            if (options.getHttp2InitialSessionRecvWindow() != null) {
+                connectionFactory.setInitialSessionRecvWindow(options.getHttp2InitialSessionRecvWindow());
+            }
+            if (options.getHttp2MaxFrameLength() != null) {
+                connectionFactory.setMaxFrameLength(options.getHttp2MaxFrameLength());
+            }
+        }
+    }
+
     @Override
     protected void doStop() throws Exception {
         this.server.shutdown();
 
+        for (val endPoint : transports.keySet()) {
+            closeTransport(endPoint);
+        }
+
+        if (this.scheduledExecutorService != null) {
+            this.scheduledExecutorService =
+                    SharedResourceHolder.release(GrpcUtil.TIMER_SERVICE, this.scheduledExecutorService);
+        }
+
+        if (this.ownedExecutor != null) {
+            this.ownedExecutor.shutdown();
+        }
+
         super.doStop();
     }
 }
@@ -1,12 +1,17 @@
 package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
 
+import com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer.GrpcWireMockOptions.GrpcRequestJournalMode;
+import com.github.tomakehurst.wiremock.common.Slf4jNotifier;
 import com.github.tomakehurst.wiremock.core.Options;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
 import com.github.tomakehurst.wiremock.http.AdminRequestHandler;
 import com.github.tomakehurst.wiremock.http.HttpServer;
 import com.github.tomakehurst.wiremock.http.StubRequestHandler;
 import com.github.tomakehurst.wiremock.jetty9.JettyHttpServerFactory;
 import com.github.tomakehurst.wiremock.jetty94.Jetty94HttpServer;
+import io.grpc.CompressorRegistry;
 import io.grpc.ServiceDescriptor;
 import lombok.NonNull;
 import lombok.val;
@@ -23,16 +28,99 @@ public abstract class GrpcWireMockHttpServerStubConfigurer extends WireMockHttpS
 
     private final List<ServiceDescriptor> services;
 
+    private final GrpcWireMockOptions options;
+
     protected GrpcWireMockHttpServerStubConfigurer(@NonNull final Collection<ServiceDescriptor> services) {
+        this(services, GrpcWireMockOptions.DEFAULT);
+    }
+
+    protected GrpcWireMockHttpServerStubConfigurer(
+            @NonNull final Collection<ServiceDescriptor> services, @NonNull final GrpcWireMockOptions options) {
         checkArgument(!services.isEmpty(), "Argument 'services' cannot be empty");
+        checkArgument(options.getBidiStreamingWindowSize() >= 0,
+                "Option 'bidiStreamingWindowSize' cannot be negative");
+        checkArgument(options.getInboundChunkSize() > 0, "Option 'inboundChunkSize' must be positive");
+        checkArgument(options.getInboundWindowSize() > 0, "Option 'inboundWindowSize' must be positive");
+        checkArgument(options.getMaxPooledBuffersPerSizeClass() >= 0,
+                "Option 'maxPooledBuffersPerSizeClass' cannot be negative");
+        checkArgument(options.getMaxCachedResponses() >= 0, "Option 'maxCachedResponses' cannot be negative");
+        checkArgument(options.getResponseCompression() == null
+                        || (options.getCompressorRegistry() != null
+                        ? options.getCompressorRegistry()
+                        : CompressorRegistry.getDefaultInstance())
+                        .lookupCompressor(options.getResponseCompression()) != null,
+                "Option 'responseCompression' must name a registered compressor");
+        checkArgument(options.getHttp2MaxConcurrentStreams() == null || options.getHttp2MaxConcurrentStreams() > 0,
+                "Option 'http2MaxConcurrentStreams' must be positive");
+        checkArgument(options.getHttp2InitialStreamRecvWindow() == null
+                        || options.getHttp2InitialStreamRecvWindow() > 0,
+                "Option 'http2InitialStreamRecvWindow' must be positive");
+        checkArgument(options.getHttp2InitialSessionRecvWindow() == null
+                        || options.getHttp2InitialSessionRecvWindow() > 0,
+                "Option 'http2InitialSessionRecvWindow' must be positive");
+        checkArgument(options.getHttp2MaxFrameLength() == null || options.getHttp2MaxFrameLength() > 0,
+                "Option 'http2MaxFrameLength' must be positive");
+        checkArgument(options.getJettyAcceptors() == null || options.getJettyAcceptors() > 0,
+                "Option 'jettyAcceptors' must be positive");
+        checkArgument(options.getContainerThreads() == null || options.getContainerThreads() > 0,
+                "Option 'containerThreads' must be positive");
+        checkArgument(!options.isMessageMatchingEnabled() || options.isStubIndexEnabled(),
+                "Option 'messageMatchingEnabled' requires option 'stubIndexEnabled'");
+        checkArgument(options.getGrpcRequestJournalSampleRate() > 0,
+                "Option 'grpcRequestJournalSampleRate' must be positive");
+        checkArgument(options.getGrpcRequestJournalMaxEntries() >= 0,
+                "Option 'grpcRequestJournalMaxEntries' cannot be negative");
 
         this.services = List.copyOf(services);
+        this.options = options;
     }
 
     @Override
     public WireMockConfiguration configure(
             @NonNull final WireMockConfiguration wireMockConfiguration,
             final HttpServerStubConfiguration httpServerStubConfiguration) {
+        if (options.isRequestJournalDisabled()) {
+            wireMockConfiguration.disableRequestJournal();
+        } else if (options.getGrpcRequestJournalMode() != GrpcRequestJournalMode.ALL) {
+            wireMockConfiguration.extensions(
+                    new GrpcWireMockJournalFilter(
+                            options.getGrpcRequestJournalMode(),
+                            options.getGrpcRequestJournalSampleRate(),
+                            options.getGrpcRequestJournalMaxEntries()));
+        }
+        if (options.isQuietLogging()) {
+            wireMockConfiguration.notifier(new Slf4jNotifier(false));
+        }
+        if (options.getJettyAcceptors() != null) {
+            wireMockConfiguration.jettyAcceptors(options.getJettyAcceptors());
+        }
+        if (options.getContainerThreads() != null) {
+            wireMockConfiguration.containerThreads(options.getContainerThreads());
+        }
+
+        final GrpcWireMockStubIndex stubIndex;
+        if (options.isStubIndexEnabled() && !isGrpcRequestJournalEnabled()) {
+            stubIndex = new GrpcWireMockStubIndex(services, options.isMessageMatchingEnabled());
+            wireMockConfiguration.extensions(stubIndex);
+        } else {
+            stubIndex = null;
+        }
+
+        final GrpcWireMockResponseCache responseCache;
+        if (options.getMaxCachedResponses() > 0) {
+            responseCache = new GrpcWireMockResponseCache(options.getMaxCachedResponses());
+            wireMockConfiguration.extensions(responseCache);
+        } else {
+            responseCache = null;
+        }
+
+        final GrpcWireMockMetrics metrics;
+        if (options.getMeterRegistry() != null) {
+            metrics = new GrpcWireMockMetrics(options.getMeterRegistry());
+        } else {
+            metrics = null;
+        }
+
         return wireMockConfiguration.httpServerFactory(
                 new JettyHttpServerFactory() {
                     @Override
@@ -46,16 +134,35 @@ public abstract class GrpcWireMockHttpServerStubConfigurer extends WireMockHttpS
                                     final Options options,
                                     final AdminRequestHandler adminRequestHandler,
                                     final StubRequestHandler stubRequestHandler) {
+                                val stubRouter = new GrpcWireMockStubRouter(
+                                        stubRequestHandler, stubIndex, !hasGlobalTransformers(options), responseCache,
+                                        GrpcWireMockHttpServerStubConfigurer.this.options.getResponseDelayMode(),
+                                        metrics,
+                                        GrpcWireMockHttpServerStubConfigurer.this.options.getCallCounter());
+
                                 val handlers = new HandlerCollection();
                                 handlers.addHandler(
                                         new GrpcWireMockHandler(
                                                 super.createHandler(options, adminRequestHandler, stubRequestHandler),
-                                                stubRequestHandler,
-                                                services));
+                                                stubRouter,
+                                                services,
+                                                GrpcWireMockHttpServerStubConfigurer.this.options));
                                 return handlers;
                             }
                         };
                     }
                 });
     }
+
+    private boolean isGrpcRequestJournalEnabled() {
+        return !options.isRequestJournalDisabled()
+                && options.getGrpcRequestJournalMode() != GrpcRequestJournalMode.NONE;
+    }
+
+    private static boolean hasGlobalTransformers(final Options options) {
+        return options.extensionsOfType(ResponseDefinitionTransformer.class).values().stream()
+                .anyMatch(ResponseDefinitionTransformer::applyGlobally)
+                || options.extensionsOfType(ResponseTransformer.class).values().stream()
+                .anyMatch(ResponseTransformer::applyGlobally);
+    }
 }
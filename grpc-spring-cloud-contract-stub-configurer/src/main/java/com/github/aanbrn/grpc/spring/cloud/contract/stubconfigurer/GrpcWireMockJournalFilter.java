@@ -0,0 +1,71 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer.GrpcWireMockOptions.GrpcRequestJournalMode;
+import com.github.tomakehurst.wiremock.core.Admin;
+import com.github.tomakehurst.wiremock.extension.PostServeAction;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import io.grpc.internal.GrpcUtil;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@RequiredArgsConstructor
+class GrpcWireMockJournalFilter extends PostServeAction {
+
+    @NonNull
+    private final GrpcRequestJournalMode mode;
+
+    private final int sampleRate;
+
+    private final int maxEntries;
+
+    private final AtomicLong calls = new AtomicLong();
+
+    private final Queue<UUID> keptEvents = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger keptEventCount = new AtomicInteger();
+
+    @Override
+    public String getName() {
+        return "grpc-journal-filter";
+    }
+
+    @Override
+    public void doGlobalAction(final ServeEvent serveEvent, final Admin admin) {
+        if (!isGrpcCall(serveEvent)) {
+            return;
+        }
+
+        switch (mode) {
+            case SAMPLED -> {
+                if (calls.getAndIncrement() % sampleRate != 0) {
+                    admin.removeServeEvent(serveEvent.getId());
+                }
+            }
+            case CAPPED -> {
+                keptEvents.add(serveEvent.getId());
+                if (keptEventCount.incrementAndGet() > maxEntries) {
+                    val oldestEvent = keptEvents.poll();
+                    if (oldestEvent != null) {
+                        keptEventCount.decrementAndGet();
+                        admin.removeServeEvent(oldestEvent);
+                    }
+                }
+            }
+            case NONE -> admin.removeServeEvent(serveEvent.getId());
+            default -> {
+            }
+        }
+    }
+
+    private static boolean isGrpcCall(final ServeEvent serveEvent) {
+        val contentType = serveEvent.getRequest().contentTypeHeader();
+        return contentType.isPresent() && contentType.mimeTypePart().startsWith(GrpcUtil.CONTENT_TYPE_GRPC);
+    }
+}
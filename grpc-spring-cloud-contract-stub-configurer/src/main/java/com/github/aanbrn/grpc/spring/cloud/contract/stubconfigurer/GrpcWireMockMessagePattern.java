@@ -0,0 +1,550 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageReader;
+import com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcUtils;
+import com.github.tomakehurst.wiremock.matching.EqualToJsonPattern;
+import com.github.tomakehurst.wiremock.matching.MatchesJsonPathPattern;
+import com.github.tomakehurst.wiremock.matching.MultiValuePattern;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor.JavaType;
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.MapEntry;
+import com.google.protobuf.Message;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageWriter.messageAsJson;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageWriter.messagesAsJson;
+
+@RequiredArgsConstructor
+class GrpcWireMockMessagePattern {
+
+    @FunctionalInterface
+    private interface BodyMatcher {
+
+        boolean matches(Object messageTree);
+    }
+
+    @RequiredArgsConstructor
+    private enum Operator {
+
+        EQ("=="), NE("!="), LE("<="), GE(">="), LT("<"), GT(">"), REGEX("=~");
+
+        private final String symbol;
+    }
+
+    private record Segment(String name, int index, boolean wildcard) {
+    }
+
+    private record Filter(List<String> fieldPath, Operator operator, Object operand) {
+    }
+
+    private static final class JsonPathParser {
+
+        private final String expression;
+
+        private int position;
+
+        JsonPathParser(final String expression) {
+            this.expression = expression.trim();
+        }
+
+        BodyMatcher parse() {
+            expect('$');
+
+            val segments = new ArrayList<Segment>();
+            Filter filter = null;
+            while (position < expression.length()) {
+                checkSyntax(filter == null);
+
+                val c = expression.charAt(position);
+                if (c == '.') {
+                    position++;
+                    if (peek() == '[') {
+                        continue;
+                    }
+                    if (peek() == '*') {
+                        position++;
+                        segments.add(new Segment(null, -1, true));
+                    } else {
+                        segments.add(new Segment(readIdentifier(), -1, false));
+                    }
+                } else if (c == '[') {
+                    position++;
+                    val next = peek();
+                    if (next == '?') {
+                        filter = parseFilter();
+                    } else if (next == '\'' || next == '"') {
+                        segments.add(new Segment(readQuoted(), -1, false));
+                        expect(']');
+                    } else if (next == '*') {
+                        position++;
+                        segments.add(new Segment(null, -1, true));
+                        expect(']');
+                    } else {
+                        val start = position;
+                        while (Character.isDigit(peek())) {
+                            position++;
+                        }
+                        checkSyntax(position > start);
+                        segments.add(new Segment(null, Integer.parseInt(expression.substring(start, position)), false));
+                        expect(']');
+                    }
+                } else {
+                    throw syntaxError();
+                }
+            }
+
+            val compiledFilter = filter;
+            return messageTree -> matches(select(messageTree, segments), compiledFilter);
+        }
+
+        private Filter parseFilter() {
+            expect('?');
+            expect('(');
+            expect('@');
+
+            val fieldPath = new ArrayList<String>();
+            while (true) {
+                val c = peek();
+                if (c == '.' && position + 1 < expression.length() && expression.charAt(position + 1) == '[') {
+                    position++;
+                } else if (c == '.') {
+                    position++;
+                    fieldPath.add(readIdentifier());
+                } else if (c == '[') {
+                    position++;
+                    fieldPath.add(readQuoted());
+                    expect(']');
+                } else {
+                    break;
+                }
+            }
+
+            skipWhitespace();
+            Operator operator = null;
+            for (val candidate : Operator.values()) {
+                if (expression.startsWith(candidate.symbol, position)) {
+                    operator = candidate;
+                    position += candidate.symbol.length();
+                    break;
+                }
+            }
+            checkSyntax(operator != null);
+            checkSyntax(expression.endsWith(")]"));
+
+            val literal = expression.substring(position, expression.length() - 2).trim();
+            position = expression.length();
+
+            return new Filter(List.copyOf(fieldPath), operator, parseOperand(operator, literal));
+        }
+
+        private Object parseOperand(final Operator operator, final String literal) {
+            checkSyntax(!literal.isEmpty());
+            if (operator == Operator.REGEX) {
+                checkSyntax(literal.charAt(0) == '/');
+                val end = literal.lastIndexOf('/');
+                checkSyntax(end > 0);
+                var flags = 0;
+                for (val flag : literal.substring(end + 1).toCharArray()) {
+                    switch (flag) {
+                        case 'i' -> flags |= Pattern.CASE_INSENSITIVE;
+                        case 'm' -> flags |= Pattern.MULTILINE;
+                        case 's' -> flags |= Pattern.DOTALL;
+                        default -> throw syntaxError();
+                    }
+                }
+                return Pattern.compile(literal.substring(1, end), flags);
+            }
+
+            val first = literal.charAt(0);
+            if (first == '\'' || first == '"') {
+                checkSyntax(literal.length() >= 2 && literal.charAt(literal.length() - 1) == first);
+                return literal.substring(1, literal.length() - 1).replace("\\" + first, String.valueOf(first));
+            }
+            return switch (literal) {
+                case "true" -> Boolean.TRUE;
+                case "false" -> Boolean.FALSE;
+                case "null" -> null;
+                default -> {
+                    try {
+                        yield new BigDecimal(literal);
+                    } catch (NumberFormatException e) {
+                        throw syntaxError();
+                    }
+                }
+            };
+        }
+
+        private String readIdentifier() {
+            val start = position;
+            while (position < expression.length()
+                    && (Character.isLetterOrDigit(expression.charAt(position)) || expression.charAt(position) == '_')) {
+                position++;
+            }
+            checkSyntax(position > start);
+            return expression.substring(start, position);
+        }
+
+        private String readQuoted() {
+            val quote = peek();
+            checkSyntax(quote == '\'' || quote == '"');
+            val end = expression.indexOf(quote, position + 1);
+            checkSyntax(end > 0);
+            val value = expression.substring(position + 1, end);
+            position = end + 1;
+            return value;
+        }
+
+        private void skipWhitespace() {
+            while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+                position++;
+            }
+        }
+
+        private char peek() {
+            return position < expression.length() ? expression.charAt(position) : 0;
+        }
+
+        private void expect(final char c) {
+            checkSyntax(peek() == c);
+            position++;
+        }
+
+        private void checkSyntax(final boolean condition) {
+            if (!condition) {
+                throw syntaxError();
+            }
+        }
+
+        private IllegalArgumentException syntaxError() {
+            return new IllegalArgumentException("Unsupported JSON path: " + expression);
+        }
+    }
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final Comparator<JsonNode> jsonValueComparator = (value, otherValue) -> {
+        if (value.isNumber() && otherValue.isNumber()) {
+            if (value.isIntegralNumber() != otherValue.isIntegralNumber()) {
+                return 1;
+            }
+            return value.isIntegralNumber()
+                    ? value.bigIntegerValue().compareTo(otherValue.bigIntegerValue())
+                    : value.decimalValue().compareTo(otherValue.decimalValue());
+        }
+        return value.equals(otherValue) ? 0 : 1;
+    };
+
+    private final Map<String, MultiValuePattern> headerPatterns;
+
+    private final List<BodyMatcher> bodyMatchers;
+
+    static GrpcWireMockMessagePattern compile(
+            @NonNull final RequestPattern requestPattern, @NonNull final MethodDescriptor methodDescriptor) {
+        if (requestPattern.getCustomMatcher() != null
+                || requestPattern.getQueryParameters() != null && !requestPattern.getQueryParameters().isEmpty()
+                || requestPattern.getCookies() != null && !requestPattern.getCookies().isEmpty()
+                || requestPattern.getBasicAuthCredentials() != null
+                || requestPattern.getMultipartPatterns() != null && !requestPattern.getMultipartPatterns().isEmpty()) {
+            return null;
+        }
+
+        val bodyMatchers = new ArrayList<BodyMatcher>();
+        if (requestPattern.getBodyPatterns() != null) {
+            for (val bodyPattern : requestPattern.getBodyPatterns()) {
+                final BodyMatcher bodyMatcher;
+                try {
+                    if (bodyPattern instanceof MatchesJsonPathPattern jsonPathPattern
+                            && jsonPathPattern.getValuePattern() == null) {
+                        bodyMatcher = new JsonPathParser(jsonPathPattern.getMatchesJsonPath()).parse();
+                    } else if (bodyPattern instanceof EqualToJsonPattern equalToJsonPattern
+                            && !Boolean.TRUE.equals(equalToJsonPattern.isIgnoreArrayOrder())
+                            && !Boolean.TRUE.equals(equalToJsonPattern.isIgnoreExtraElements())) {
+                        bodyMatcher = equalToJson(equalToJsonPattern.getExpected(), methodDescriptor);
+                    } else {
+                        return null;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    return null;
+                }
+                bodyMatchers.add(bodyMatcher);
+            }
+        }
+
+        return new GrpcWireMockMessagePattern(
+                requestPattern.getHeaders() != null ? Map.copyOf(requestPattern.getHeaders()) : Map.of(),
+                List.copyOf(bodyMatchers));
+    }
+
+    boolean matches(@NonNull final GrpcWireMockRequest request) {
+        for (val headerPattern : headerPatterns.entrySet()) {
+            if (!headerPattern.getValue().match(request.header(headerPattern.getKey())).isExactMatch()) {
+                return false;
+            }
+        }
+
+        val messageTree = request.getInputMessageTree();
+        for (val bodyMatcher : bodyMatchers) {
+            if (messageTree == null || !bodyMatcher.matches(messageTree)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BodyMatcher equalToJson(final String json, final MethodDescriptor methodDescriptor)
+            throws IOException {
+        // WireMock would compare the expected JSON with the JSON rendering of the input messages, which lists every
+        // field, so comparing the messages is only equivalent when the expected JSON is exactly such a rendering
+        val expectedTree = objectMapper.readTree(json);
+        if (methodDescriptor.isClientStreaming()) {
+            final List<DynamicMessage> expectedMessages;
+            try (GrpcJsonMessageReader reader = GrpcJsonMessageReader.of(json, methodDescriptor.getInputType())) {
+                expectedMessages = reader.readAll();
+            }
+            if (!expectedTree.equals(jsonValueComparator, objectMapper.readTree(messagesAsJson(expectedMessages)))) {
+                throw new IllegalArgumentException("Expected JSON is not a rendering of the input messages");
+            }
+            return messageTree -> messageTree instanceof List<?> messages
+                    && valuesEqual(expectedMessages, messages);
+        } else {
+            val expectedMessage = GrpcUtils.messageFromJson(json, methodDescriptor.getInputType());
+            if (!expectedTree.equals(jsonValueComparator, objectMapper.readTree(messageAsJson(expectedMessage)))) {
+                throw new IllegalArgumentException("Expected JSON is not a rendering of the input message");
+            }
+            return messageTree -> messageTree instanceof Message message
+                    && valuesEqual(expectedMessage, message);
+        }
+    }
+
+    private static List<Object> select(final Object messageTree, final List<Segment> segments) {
+        List<Object> nodes = Collections.singletonList(messageTree);
+        for (val segment : segments) {
+            val selectedNodes = new ArrayList<>();
+            for (val node : nodes) {
+                if (segment.name() != null) {
+                    if (node instanceof Message message) {
+                        val field = message.getDescriptorForType().findFieldByName(segment.name());
+                        if (field != null) {
+                            selectedNodes.add(fieldValue(message, field));
+                        }
+                    } else if (node instanceof Map<?, ?> map && map.containsKey(segment.name())) {
+                        selectedNodes.add(map.get(segment.name()));
+                    }
+                } else if (segment.wildcard()) {
+                    if (node instanceof List<?> list) {
+                        selectedNodes.addAll(list);
+                    } else if (node instanceof Message message) {
+                        for (val field : message.getDescriptorForType().getFields()) {
+                            selectedNodes.add(fieldValue(message, field));
+                        }
+                    } else if (node instanceof Map<?, ?> map) {
+                        selectedNodes.addAll(map.values());
+                    }
+                } else if (node instanceof List<?> list && segment.index() < list.size()) {
+                    selectedNodes.add(list.get(segment.index()));
+                }
+            }
+            nodes = selectedNodes;
+        }
+        return nodes;
+    }
+
+    private static boolean matches(final List<Object> nodes, final Filter filter) {
+        if (filter == null) {
+            for (val node : nodes) {
+                if (node != null && !(node instanceof List<?> list && list.isEmpty())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        for (val node : nodes) {
+            if (node instanceof List<?> list) {
+                for (val element : list) {
+                    if (test(element, filter)) {
+                        return true;
+                    }
+                }
+            } else if (node != null && test(node, filter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean test(final Object node, final Filter filter) {
+        var value = node;
+        for (val fieldName : filter.fieldPath()) {
+            if (value instanceof Message message) {
+                val field = message.getDescriptorForType().findFieldByName(fieldName);
+                if (field == null) {
+                    return false;
+                }
+                value = fieldValue(message, field);
+            } else if (value instanceof Map<?, ?> map && map.containsKey(fieldName)) {
+                value = map.get(fieldName);
+            } else {
+                return false;
+            }
+        }
+        return compare(scalarValue(value), filter.operator(), filter.operand());
+    }
+
+    private static boolean compare(final Object value, final Operator operator, final Object operand) {
+        return switch (operator) {
+            case EQ -> scalarsEqual(value, operand);
+            case NE -> !scalarsEqual(value, operand);
+            case REGEX -> value != null && !(value instanceof Message) && !(value instanceof Collection<?>)
+                    && !(value instanceof Map<?, ?>)
+                    && ((Pattern) operand).matcher(value.toString()).matches();
+            default -> {
+                final int comparison;
+                if (value instanceof BigDecimal number && operand instanceof BigDecimal expected) {
+                    comparison = number.compareTo(expected);
+                } else if (value instanceof String string && operand instanceof String expected) {
+                    comparison = string.compareTo(expected);
+                } else {
+                    yield false;
+                }
+                yield switch (operator) {
+                    case LT -> comparison < 0;
+                    case LE -> comparison <= 0;
+                    case GT -> comparison > 0;
+                    case GE -> comparison >= 0;
+                    default -> false;
+                };
+            }
+        };
+    }
+
+    private static boolean scalarsEqual(final Object value, final Object operand) {
+        if (value instanceof BigDecimal number && operand instanceof BigDecimal expected) {
+            return number.compareTo(expected) == 0;
+        }
+        return Objects.equals(value, operand);
+    }
+
+    private static Object fieldValue(final Message message, final FieldDescriptor field) {
+        if (field.isMapField()) {
+            val keyField = field.getMessageType().findFieldByName("key");
+            val valueField = field.getMessageType().findFieldByName("value");
+            val map = new LinkedHashMap<String, Object>();
+            for (val entry : (List<?>) message.getField(field)) {
+                if (entry instanceof MapEntry<?, ?> mapEntry) {
+                    map.put(String.valueOf(mapEntry.getKey()), mapEntry.getValue());
+                } else {
+                    val entryMessage = (Message) entry;
+                    map.put(String.valueOf(entryMessage.getField(keyField)), entryMessage.getField(valueField));
+                }
+            }
+            return map;
+        }
+        if (!field.isRepeated() && field.getJavaType() == JavaType.MESSAGE && !message.hasField(field)) {
+            return null;
+        }
+        val value = message.getField(field);
+        if (field.getType() == FieldDescriptor.Type.UINT32 || field.getType() == FieldDescriptor.Type.FIXED32
+                || field.getType() == FieldDescriptor.Type.UINT64 || field.getType() == FieldDescriptor.Type.FIXED64) {
+            return field.isRepeated()
+                    ? ((List<?>) value).stream().map(GrpcWireMockMessagePattern::unsignedValue).toList()
+                    : unsignedValue(value);
+        }
+        return value;
+    }
+
+    private static Object unsignedValue(final Object value) {
+        if (value instanceof Integer intValue) {
+            return Integer.toUnsignedLong(intValue);
+        }
+        val longValue = (long) (Long) value;
+        return longValue < 0 ? new BigInteger(Long.toUnsignedString(longValue)) : longValue;
+    }
+
+    private static Object scalarValue(final Object value) {
+        if (value instanceof Integer || value instanceof Long) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof BigInteger bigInteger) {
+            return new BigDecimal(bigInteger);
+        }
+        if (value instanceof Float floatValue) {
+            // Floats are rendered by their shortest decimal representation, not by that of the widened double
+            return Float.isFinite(floatValue) ? new BigDecimal(Float.toString(floatValue)) : String.valueOf(floatValue);
+        }
+        if (value instanceof Double doubleValue) {
+            return Double.isFinite(doubleValue) ? BigDecimal.valueOf(doubleValue) : String.valueOf(doubleValue);
+        }
+        if (value instanceof EnumValueDescriptor enumValue) {
+            return enumValue.getName();
+        }
+        if (value instanceof ByteString bytes) {
+            return Base64.getEncoder().encodeToString(bytes.toByteArray());
+        }
+        return value;
+    }
+
+    private static boolean valuesEqual(final Object expected, final Object actual) {
+        if (expected instanceof Message expectedMessage && actual instanceof Message actualMessage) {
+            if (!expectedMessage.getDescriptorForType().equals(actualMessage.getDescriptorForType())) {
+                return false;
+            }
+            for (val field : expectedMessage.getDescriptorForType().getFields()) {
+                if (!field.isRepeated() && field.getJavaType() == JavaType.MESSAGE
+                        && expectedMessage.hasField(field) != actualMessage.hasField(field)) {
+                    return false;
+                }
+                if (field.isMapField()
+                        ? !valuesEqual(fieldValue(expectedMessage, field), fieldValue(actualMessage, field))
+                        : !valuesEqual(expectedMessage.getField(field), actualMessage.getField(field))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (expected instanceof Map<?, ?> expectedMap && actual instanceof Map<?, ?> actualMap) {
+            if (expectedMap.size() != actualMap.size()) {
+                return false;
+            }
+            for (val entry : expectedMap.entrySet()) {
+                if (!actualMap.containsKey(entry.getKey())
+                        || !valuesEqual(entry.getValue(), actualMap.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (expected instanceof List<?> expectedList && actual instanceof List<?> actualList) {
+            if (expectedList.size() != actualList.size()) {
+                return false;
+            }
+            for (int i = 0; i < expectedList.size(); i++) {
+                if (!valuesEqual(expectedList.get(i), actualList.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if ((expected instanceof Float || expected instanceof Double)
+                && actual != null && expected.getClass() == actual.getClass()) {
+            // Like the compared JSON numbers, positive and negative zeros are equal
+            return ((Number) expected).doubleValue() == ((Number) actual).doubleValue() || expected.equals(actual);
+        }
+        return Objects.equals(expected, actual);
+    }
+}
@@ -1,71 +1,151 @@
 package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
 
-import com.github.tomakehurst.wiremock.http.HttpResponder;
+import com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer.GrpcWireMockResponseEmitter.MessageSource;
+import com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageReader;
+import com.github.tomakehurst.wiremock.http.Response;
 import com.google.protobuf.Descriptors.MethodDescriptor;
 import com.google.protobuf.DynamicMessage;
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import lombok.NonNull;
 import lombok.val;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcUtils.messageFromJson;
-import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcUtils.messagesFromJson;
 import static java.lang.Integer.parseInt;
 
 abstract class GrpcWireMockMethodHandlerBase {
 
-    protected final HttpResponder unaryResponder(
+    protected final GrpcWireMockResponder unaryResponder(
             @NonNull final MethodDescriptor methodDescriptor,
+            final GrpcWireMockResponseCache responseCache,
             @NonNull final StreamObserver<DynamicMessage> responseObserver) {
-        return (request, response) -> {
-            val statusHeader = response.getHeaders().getHeader("grpc-status");
-            if (!statusHeader.isPresent()
-                    || Status.fromCodeValue(parseInt(statusHeader.firstValue())) == Status.OK) {
-                final DynamicMessage outputMessage;
-                try {
-                    outputMessage = messageFromJson(response.getBodyAsString(), methodDescriptor.getOutputType());
-                } catch (IOException e) {
-                    throw new IllegalStateException("Response body must contain a valid output message", e);
-                }
-                responseObserver.onNext(outputMessage);
-                responseObserver.onCompleted();
+        return (response, stubMappingId) -> {
+            if (response.getInitialDelay() > 0) {
+                val serverCallObserver = (ServerCallStreamObserver<DynamicMessage>) responseObserver;
+                CompletableFuture
+                        .delayedExecutor(response.getInitialDelay(), TimeUnit.MILLISECONDS)
+                        .execute(() -> {
+                            if (serverCallObserver.isCancelled()) {
+                                return;
+                            }
+                            try {
+                                respond(methodDescriptor, responseCache, responseObserver, response, stubMappingId);
+                            } catch (RuntimeException e) {
+                                serverCallObserver.onError(Status.fromThrowable(e).asRuntimeException());
+                            }
+                        });
             } else {
-                var status = Status.fromCodeValue(parseInt(statusHeader.firstValue()));
-                val messageHeader = response.getHeaders().getHeader("grpc-message");
-                if (messageHeader.isPresent()) {
-                    status = status.withDescription(messageHeader.firstValue());
-                }
-                responseObserver.onError(status.asRuntimeException());
+                respond(methodDescriptor, responseCache, responseObserver, response, stubMappingId);
             }
         };
     }
 
-    protected final HttpResponder streamingResponder(
+    private static void respond(
+            final MethodDescriptor methodDescriptor,
+            final GrpcWireMockResponseCache responseCache,
+            final StreamObserver<DynamicMessage> responseObserver,
+            final Response response,
+            final UUID stubMappingId) {
+        val status = responseStatus(response);
+        if (status.isOk()) {
+            final DynamicMessage outputMessage;
+            try {
+                if (responseCache != null) {
+                    outputMessage = responseCache.outputMessage(
+                            stubMappingId, response, methodDescriptor.getOutputType());
+                } else {
+                    outputMessage = messageFromJson(response.getBodyAsString(), methodDescriptor.getOutputType());
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Response body must contain a valid output message", e);
+            }
+            responseObserver.onNext(outputMessage);
+            responseObserver.onCompleted();
+        } else {
+            responseObserver.onError(status.asRuntimeException());
+        }
+    }
+
+    protected final GrpcWireMockResponder streamingResponder(
             @NonNull final MethodDescriptor methodDescriptor,
-            @NonNull final StreamObserver<DynamicMessage> responseObserver) {
-        return (request, response) -> {
-            val statusHeader = response.getHeaders().getHeader("grpc-status");
-            if (!statusHeader.isPresent()
-                    || Status.fromCodeValue(parseInt(statusHeader.firstValue())) == Status.OK) {
-                final List<DynamicMessage> outputMessages;
-                try {
-                    outputMessages = messagesFromJson(response.getBodyAsString(), methodDescriptor.getOutputType());
-                } catch (IOException e) {
-                    throw new IllegalStateException("Response body must contain an array of valid output messages", e);
+            final GrpcWireMockResponseCache responseCache,
+            @NonNull final GrpcWireMockResponseEmitter responseEmitter) {
+        return streamingResponder(methodDescriptor, responseCache, responseEmitter, true);
+    }
+
+    protected final GrpcWireMockResponder streamingResponder(
+            @NonNull final MethodDescriptor methodDescriptor,
+            final GrpcWireMockResponseCache responseCache,
+            @NonNull final GrpcWireMockResponseEmitter responseEmitter,
+            final boolean lastResponse) {
+        return (response, stubMappingId) -> {
+            val status = responseStatus(response);
+            if (status.isOk()) {
+                List<DynamicMessage> cachedOutputMessages = null;
+                if (responseCache != null) {
+                    try {
+                        cachedOutputMessages = responseCache.outputMessages(
+                                stubMappingId, response, methodDescriptor.getOutputType());
+                    } catch (IOException e) {
+                        responseEmitter.fail(
+                                Status.INTERNAL
+                                        .withDescription("Response body must contain an array of valid output messages")
+                                        .withCause(e));
+                        return;
+                    }
                 }
-                outputMessages.forEach(responseObserver::onNext);
-                responseObserver.onCompleted();
-            } else {
-                var status = Status.fromCodeValue(parseInt(statusHeader.firstValue()));
-                val messageHeader = response.getHeaders().getHeader("grpc-message");
-                if (messageHeader.isPresent()) {
-                    status = status.withDescription(messageHeader.firstValue());
+
+                if (cachedOutputMessages != null) {
+                    val outputMessages = cachedOutputMessages.iterator();
+                    responseEmitter.emit(
+                            () -> outputMessages.hasNext() ? outputMessages.next() : null,
+                            response.getInitialDelay());
+                } else {
+                    final GrpcJsonMessageReader outputMessages;
+                    try {
+                        outputMessages = GrpcJsonMessageReader.of(
+                                response.getBodyAsString(), methodDescriptor.getOutputType());
+                    } catch (IOException e) {
+                        responseEmitter.fail(
+                                Status.INTERNAL
+                                        .withDescription("Response body must contain an array of valid output messages")
+                                        .withCause(e));
+                        return;
+                    }
+                    responseEmitter.emit(MessageSource.of(outputMessages), response.getInitialDelay());
+                }
+                if (lastResponse) {
+                    responseEmitter.complete();
                 }
-                responseObserver.onError(status.asRuntimeException());
+            } else if (response.getInitialDelay() > 0) {
+                CompletableFuture
+                        .delayedExecutor(response.getInitialDelay(), TimeUnit.MILLISECONDS)
+                        .execute(() -> responseEmitter.fail(status));
+            } else {
+                responseEmitter.fail(status);
             }
         };
     }
+
+    private static Status responseStatus(final Response response) {
+        val statusHeader = response.getHeaders().getHeader("grpc-status");
+        if (!statusHeader.isPresent()) {
+            return Status.OK;
+        }
+        var status = Status.fromCodeValue(parseInt(statusHeader.firstValue()));
+        if (!status.isOk()) {
+            val messageHeader = response.getHeaders().getHeader("grpc-message");
+            if (messageHeader.isPresent()) {
+                status = status.withDescription(messageHeader.firstValue());
+            }
+        }
+        return status;
+    }
 }
@@ -0,0 +1,174 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import io.grpc.Metadata;
+import io.grpc.ServerStreamTracer;
+import io.grpc.Status;
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+class GrpcWireMockMetrics {
+
+    private final class MethodMeters {
+
+        private final String methodName;
+
+        private final Timer[] callTimers = new Timer[Status.Code.values().length];
+
+        private final Counter messagesReceived;
+
+        private final Counter messagesSent;
+
+        private final Counter bytesReceived;
+
+        private final Counter bytesSent;
+
+        private final Timer stubMatchTimer;
+
+        private final Counter unmatchedRequests;
+
+        private MethodMeters(final String methodName) {
+            this.methodName = methodName;
+            this.messagesReceived = Counter
+                    .builder(METRIC_PREFIX + "messages.received")
+                    .description("Number of messages received by the gRPC stub server")
+                    .tag(METHOD_TAG, methodName)
+                    .register(meterRegistry);
+            this.messagesSent = Counter
+                    .builder(METRIC_PREFIX + "messages.sent")
+                    .description("Number of messages sent by the gRPC stub server")
+                    .tag(METHOD_TAG, methodName)
+                    .register(meterRegistry);
+            this.bytesReceived = Counter
+                    .builder(METRIC_PREFIX + "bytes.received")
+                    .description("Number of message bytes received by the gRPC stub server")
+                    .baseUnit(BaseUnits.BYTES)
+                    .tag(METHOD_TAG, methodName)
+                    .register(meterRegistry);
+            this.bytesSent = Counter
+                    .builder(METRIC_PREFIX + "bytes.sent")
+                    .description("Number of message bytes sent by the gRPC stub server")
+                    .baseUnit(BaseUnits.BYTES)
+                    .tag(METHOD_TAG, methodName)
+                    .register(meterRegistry);
+            this.stubMatchTimer = Timer
+                    .builder(METRIC_PREFIX + "stub.match")
+                    .description("Time taken to match a gRPC request against the stubs and render the response")
+                    .tag(METHOD_TAG, methodName)
+                    .register(meterRegistry);
+            this.unmatchedRequests = Counter
+                    .builder(METRIC_PREFIX + "stub.unmatched")
+                    .description("Number of gRPC requests not matched by any stub")
+                    .tag(METHOD_TAG, methodName)
+                    .register(meterRegistry);
+        }
+
+        private Timer callTimer(final Status.Code code) {
+            var callTimer = callTimers[code.ordinal()];
+            if (callTimer == null) {
+                callTimer = Timer
+                        .builder(METRIC_PREFIX + "calls")
+                        .description("Duration of the calls handled by the gRPC stub server")
+                        .tag(METHOD_TAG, methodName)
+                        .tag(STATUS_TAG, code.name())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+                callTimers[code.ordinal()] = callTimer;
+            }
+            return callTimer;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class CallTracer extends ServerStreamTracer {
+
+        private final MethodMeters methodMeters;
+
+        private final long startNanos = System.nanoTime();
+
+        @Override
+        public void inboundMessage(final int seqNo) {
+            methodMeters.messagesReceived.increment();
+        }
+
+        @Override
+        public void inboundWireSize(final long bytes) {
+            methodMeters.bytesReceived.increment(bytes);
+        }
+
+        @Override
+        public void outboundMessage(final int seqNo) {
+            methodMeters.messagesSent.increment();
+        }
+
+        @Override
+        public void outboundWireSize(final long bytes) {
+            methodMeters.bytesSent.increment(bytes);
+        }
+
+        @Override
+        public void streamClosed(final Status status) {
+            methodMeters.callTimer(status.getCode()).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final String METRIC_PREFIX = "grpc.wiremock.";
+
+    private static final String METHOD_TAG = "method";
+
+    private static final String STATUS_TAG = "status";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, MethodMeters> methodMeters = new ConcurrentHashMap<>();
+
+    @Getter
+    private final ServerStreamTracer.Factory streamTracerFactory = new ServerStreamTracer.Factory() {
+        @Override
+        public ServerStreamTracer newServerStreamTracer(final String fullMethodName, final Metadata headers) {
+            return new CallTracer(methodMeters(fullMethodName));
+        }
+    };
+
+    GrpcWireMockMetrics(@NonNull final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    void bindBufferPool(@NonNull final GrpcWireMockBufferPool bufferPool) {
+        FunctionCounter
+                .builder(METRIC_PREFIX + "buffer.pool.hits", bufferPool, GrpcWireMockBufferPool::getHitCount)
+                .description("Number of buffers taken from the pool")
+                .register(meterRegistry);
+        FunctionCounter
+                .builder(METRIC_PREFIX + "buffer.pool.misses", bufferPool, GrpcWireMockBufferPool::getMissCount)
+                .description("Number of buffers allocated because the pool had none")
+                .register(meterRegistry);
+        FunctionCounter
+                .builder(METRIC_PREFIX + "buffer.pool.recycled", bufferPool, GrpcWireMockBufferPool::getRecycleCount)
+                .description("Number of buffers returned to the pool")
+                .register(meterRegistry);
+        Gauge
+                .builder(METRIC_PREFIX + "buffer.pool.idle", bufferPool, GrpcWireMockBufferPool::getIdleBufferCount)
+                .description("Number of idle buffers kept by the pool")
+                .register(meterRegistry);
+    }
+
+    void stubRouted(@NonNull final String url, final long durationNanos, final boolean matched) {
+        val methodMeters = methodMeters(url.substring(1));
+        methodMeters.stubMatchTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+        if (!matched) {
+            methodMeters.unmatchedRequests.increment();
+        }
+    }
+
+    private MethodMeters methodMeters(final String methodName) {
+        return methodMeters.computeIfAbsent(methodName, MethodMeters::new);
+    }
+}
@@ -0,0 +1,254 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import io.grpc.CompressorRegistry;
+import io.grpc.DecompressorRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.concurrent.Executor;
+
+@Value
+@Builder(toBuilder = true)
+public class GrpcWireMockOptions {
+
+    public enum ExecutorMode {
+
+        /**
+         * The shared gRPC executor.
+         */
+        DEFAULT,
+
+        /**
+         * The thread delivering the call events, i.e. a Jetty thread. Only suitable when the stubs never block.
+         */
+        DIRECT,
+
+        /**
+         * A new virtual thread per task. Requires Java 21 or newer.
+         */
+        VIRTUAL_THREADS
+    }
+
+    public enum ResponseDelayMode {
+
+        /**
+         * The delay of a stub is applied once, before the first response message, as WireMock does.
+         */
+        INITIAL,
+
+        /**
+         * The delay of a stub is applied before every response message of a streaming call.
+         */
+        PER_MESSAGE
+    }
+
+    public enum GrpcRequestJournalMode {
+
+        /**
+         * Every gRPC call is kept in the request journal, as WireMock does.
+         */
+        ALL,
+
+        /**
+         * One gRPC call out of every {@code grpcRequestJournalSampleRate} is kept in the request journal.
+         */
+        SAMPLED,
+
+        /**
+         * Only the latest {@code grpcRequestJournalMaxEntries} gRPC calls are kept in the request journal. Unlike
+         * WireMock's {@code maxRequestJournalEntries}, which caps all requests together, the cap only applies to gRPC
+         * calls, so a burst of them cannot push other requests out of the journal.
+         */
+        CAPPED,
+
+        /**
+         * No gRPC calls are kept in the request journal.
+         */
+        NONE
+    }
+
+    public static final GrpcWireMockOptions DEFAULT = GrpcWireMockOptions.builder().build();
+
+    /**
+     * Options for using the stub server as a stand-in for a real service under load: indexed stubs matched against
+     * the decoded messages, cached responses, no request journal, quiet logging and handlers running directly on the
+     * Jetty threads. Since the request journal is disabled, WireMock's {@code verify} is not available.
+     */
+    public static final GrpcWireMockOptions PERFORMANCE = GrpcWireMockOptions
+            .builder()
+            .stubIndexEnabled(true)
+            .messageMatchingEnabled(true)
+            .maxCachedResponses(1024)
+            .maxPooledBuffersPerSizeClass(256)
+            .requestJournalDisabled(true)
+            .quietLogging(true)
+            .executorMode(ExecutorMode.DIRECT)
+            .containerThreads(Math.max(32, 4 * Runtime.getRuntime().availableProcessors()))
+            .build();
+
+    /**
+     * Number of inbound messages of a bidi streaming call that are matched against the stubs at once. Each window
+     * is responded to as soon as it is full, and the rest is matched when the client half-closes. Zero (the default)
+     * matches the whole inbound stream on half-close.
+     */
+    @Builder.Default
+    int bidiStreamingWindowSize = 0;
+
+    /**
+     * Size of the pooled chunks the request body is read into.
+     */
+    @Builder.Default
+    int inboundChunkSize = 16 * 1024;
+
+    /**
+     * Maximum number of request body bytes of a call that are read but not yet consumed by the stub. Reading of the
+     * request body is paused once it is reached, until the stub requests more messages.
+     */
+    @Builder.Default
+    int inboundWindowSize = 1024 * 1024;
+
+    /**
+     * Maximum number of idle buffers kept per size class of the buffer pool.
+     */
+    @Builder.Default
+    int maxPooledBuffersPerSizeClass = 64;
+
+    /**
+     * Whether to index the stubs by gRPC method, so only the stubs of the called method are matched. Methods without
+     * any stubs are answered with {@code UNIMPLEMENTED}, and matched stubs with a fixed response are answered without
+     * going through WireMock. As such calls would be missing from the request journal, the index only takes effect
+     * when the journal does not record gRPC calls, that is when {@code requestJournalDisabled} is set or
+     * {@code grpcRequestJournalMode} is {@code NONE}, and is ignored otherwise.
+     */
+    @Builder.Default
+    boolean stubIndexEnabled = false;
+
+    /**
+     * Whether to match the stubs of an indexed method against the decoded input messages rather than the request body.
+     * Applies to {@code matchesJsonPath} patterns with a single comparison filter and to strict {@code equalToJson}
+     * patterns listing every field of the messages, which are evaluated as if the body was the JSON rendering of the
+     * messages. Since WireMock sees the body Spring Cloud Contract generates stubs for, such patterns only match in
+     * this mode, other stubs are still matched by WireMock. Requires {@code stubIndexEnabled}.
+     */
+    @Builder.Default
+    boolean messageMatchingEnabled = false;
+
+    /**
+     * Maximum number of stub responses kept parsed into output messages, so that repeated calls to the same stub skip
+     * the JSON parsing. Their messages are also kept as ready-to-send gRPC frames, plain and, once a client negotiates
+     * it, gzip compressed, which the stub server writes out as they are. Beyond it, the least recently used responses
+     * are evicted. Zero (the default) disables the cache.
+     */
+    @Builder.Default
+    int maxCachedResponses = 0;
+
+    /**
+     * Whether to disable the WireMock request journal, so that served requests are not kept in memory.
+     */
+    @Builder.Default
+    boolean requestJournalDisabled = false;
+
+    /**
+     * Whether to replace the WireMock notifier with a non-verbose one, so that served requests are not logged.
+     */
+    @Builder.Default
+    boolean quietLogging = false;
+
+    /**
+     * Which gRPC calls are kept in the WireMock request journal. Other requests are not affected. Calls dropped from
+     * the journal are still counted by {@code callCounter}. Ignored if {@code requestJournalDisabled} is set.
+     */
+    @Builder.Default
+    GrpcRequestJournalMode grpcRequestJournalMode = GrpcRequestJournalMode.ALL;
+
+    /**
+     * One gRPC call out of this many is kept in the request journal in the {@code SAMPLED} mode.
+     */
+    @Builder.Default
+    int grpcRequestJournalSampleRate = 100;
+
+    /**
+     * Maximum number of gRPC calls kept in the request journal in the {@code CAPPED} mode.
+     */
+    @Builder.Default
+    int grpcRequestJournalMaxEntries = 1000;
+
+    /**
+     * Counter of the gRPC calls served by the stub server per method, including those not kept in the request
+     * journal. Each call is counted once, however many windows of a bidirectional streaming call are matched against
+     * the stubs. Not counted if not set.
+     */
+    GrpcWireMockCallCounter callCounter;
+
+    /**
+     * How the {@code fixedDelayMilliseconds} and {@code delayDistribution} delays of the stubs are applied to the
+     * response messages.
+     */
+    @Builder.Default
+    ResponseDelayMode responseDelayMode = ResponseDelayMode.INITIAL;
+
+    /**
+     * Name of the compressor the response messages are sent with, e.g. {@code gzip}, whenever the client accepts it.
+     * Not compressed by default.
+     */
+    String responseCompression;
+
+    /**
+     * Compressors available to the stub server. The gRPC default registry is used if not set.
+     */
+    CompressorRegistry compressorRegistry;
+
+    /**
+     * Decompressors available to the stub server. The gRPC default registry is used if not set.
+     */
+    DecompressorRegistry decompressorRegistry;
+
+    /**
+     * Executor the stub handlers run on, i.e. where WireMock matching and response delays take place.
+     */
+    @Builder.Default
+    ExecutorMode executorMode = ExecutorMode.DEFAULT;
+
+    /**
+     * Custom executor the stub handlers run on. Takes precedence over {@code executorMode} if set, and is not shut down
+     * with the stub server.
+     */
+    Executor executor;
+
+    /**
+     * Maximum number of concurrent HTTP/2 streams per connection. The Jetty default is used if not set.
+     */
+    Integer http2MaxConcurrentStreams;
+
+    /**
+     * Initial HTTP/2 flow-control window of a stream, in bytes. The Jetty default is used if not set.
+     */
+    Integer http2InitialStreamRecvWindow;
+
+    /**
+     * Initial HTTP/2 flow-control window of a connection, in bytes. The Jetty default is used if not set.
+     */
+    Integer http2InitialSessionRecvWindow;
+
+    /**
+     * Maximum HTTP/2 frame length, in bytes. The Jetty default is used if not set.
+     */
+    Integer http2MaxFrameLength;
+
+    /**
+     * Number of Jetty acceptor threads. The WireMock default is used if not set.
+     */
+    Integer jettyAcceptors;
+
+    /**
+     * Number of Jetty container threads. The WireMock default is used if not set.
+     */
+    Integer containerThreads;
+
+    /**
+     * Registry the call, message, stub matching and buffer pool metrics of the stub server are published to. Requires
+     * {@code micrometer-core} on the classpath. Not instrumented if not set.
+     */
+    MeterRegistry meterRegistry;
+}
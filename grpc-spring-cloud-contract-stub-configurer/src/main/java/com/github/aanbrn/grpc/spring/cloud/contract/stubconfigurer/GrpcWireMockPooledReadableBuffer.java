@@ -0,0 +1,65 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import io.grpc.internal.ForwardingReadableBuffer;
+import io.grpc.internal.ReadableBuffer;
+import io.grpc.internal.ReadableBuffers;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+class GrpcWireMockPooledReadableBuffer extends ForwardingReadableBuffer {
+
+    @RequiredArgsConstructor
+    private static class Chunk {
+
+        private final GrpcWireMockBufferPool bufferPool;
+
+        private final byte[] bytes;
+
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private void retain() {
+            references.incrementAndGet();
+        }
+
+        private void release() {
+            if (references.decrementAndGet() == 0) {
+                bufferPool.release(bytes);
+            }
+        }
+    }
+
+    private final Chunk chunk;
+
+    private boolean closed;
+
+    private GrpcWireMockPooledReadableBuffer(final ReadableBuffer buffer, final Chunk chunk) {
+        super(buffer);
+
+        this.chunk = chunk;
+    }
+
+    static ReadableBuffer wrap(
+            @NonNull final GrpcWireMockBufferPool bufferPool, @NonNull final byte[] bytes, final int length) {
+        return new GrpcWireMockPooledReadableBuffer(
+                ReadableBuffers.wrap(bytes, 0, length), new Chunk(bufferPool, bytes));
+    }
+
+    @Override
+    public ReadableBuffer readBytes(final int length) {
+        val slice = super.readBytes(length);
+        chunk.retain();
+        return new GrpcWireMockPooledReadableBuffer(slice, chunk);
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            super.close();
+            chunk.release();
+        }
+    }
+}
@@ -15,8 +15,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcUtils.messageAsMap;
-import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcUtils.messagesAsList;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcStringMessageWriter.messageAsString;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcStringMessageWriter.messagesAsString;
 
 class GrpcWireMockRequest implements Request {
 
@@ -26,24 +26,29 @@ class GrpcWireMockRequest implements Request {
             new HttpHeader("Content-Type", GrpcUtil.CONTENT_TYPE_GRPC),
             new HttpHeader("te", GrpcUtil.TE_TRAILERS));
 
-    private final String body;
+    private final List<DynamicMessage> inputMessages;
+
+    private final boolean streaming;
+
+    private String body;
 
     GrpcWireMockRequest(@NonNull final MethodDescriptor methodDescriptor, final DynamicMessage inputMessage) {
         this.url = "/" + methodDescriptor.getService().getFullName() + "/" + methodDescriptor.getName();
-        if (inputMessage != null) {
-            this.body = messageAsMap(inputMessage).toString();
-        } else {
-            this.body = null;
-        }
+        this.inputMessages = inputMessage != null ? List.of(inputMessage) : null;
+        this.streaming = false;
     }
 
     GrpcWireMockRequest(@NonNull final MethodDescriptor methodDescriptor, final List<DynamicMessage> inputMessages) {
         this.url = "/" + methodDescriptor.getService().getFullName() + "/" + methodDescriptor.getName();
-        if (inputMessages != null) {
-            this.body = messagesAsList(inputMessages).toString();
-        } else {
-            this.body = null;
+        this.inputMessages = inputMessages;
+        this.streaming = true;
+    }
+
+    Object getInputMessageTree() {
+        if (inputMessages == null) {
+            return null;
         }
+        return streaming ? inputMessages : inputMessages.get(0);
     }
 
     @Override
@@ -128,11 +133,14 @@ class GrpcWireMockRequest implements Request {
 
     @Override
     public byte[] getBody() {
-        return Strings.bytesFromString(body);
+        return Strings.bytesFromString(getBodyAsString());
     }
 
     @Override
     public String getBodyAsString() {
+        if (body == null && inputMessages != null) {
+            body = streaming ? messagesAsString(inputMessages) : messageAsString(inputMessages.get(0));
+        }
         return body;
     }
 
@@ -0,0 +1,11 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import com.github.tomakehurst.wiremock.http.Response;
+
+import java.util.UUID;
+
+@FunctionalInterface
+interface GrpcWireMockResponder {
+
+    void respond(Response response, UUID stubMappingId);
+}
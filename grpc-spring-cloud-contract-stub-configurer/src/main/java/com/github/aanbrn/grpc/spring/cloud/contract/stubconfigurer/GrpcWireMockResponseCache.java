@@ -0,0 +1,146 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageReader;
+import com.github.tomakehurst.wiremock.extension.StubLifecycleListener;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.MapMaker;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.DynamicMessage;
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcUtils.messageFromJson;
+
+class GrpcWireMockResponseCache implements StubLifecycleListener {
+
+    private record BodyKey(Descriptor messageType, boolean streaming, String body) {
+    }
+
+    static final int MAX_CACHED_BODY_LENGTH = 256 * 1024;
+
+    private final Cache<UUID, Object> outputsByStubMappingId;
+
+    private final Cache<BodyKey, Object> outputsByBody;
+
+    private final Map<DynamicMessage, GrpcWireMockResponseFrame> responseFrames = new MapMaker().weakKeys().makeMap();
+
+    GrpcWireMockResponseCache(final int maxEntries) {
+        this.outputsByStubMappingId = CacheBuilder.newBuilder().maximumSize(maxEntries).build();
+        this.outputsByBody = CacheBuilder.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    @Override
+    public String getName() {
+        return "grpc-response-cache";
+    }
+
+    @Override
+    public void beforeStubCreated(@NonNull final StubMapping stub) {
+    }
+
+    @Override
+    public void afterStubCreated(@NonNull final StubMapping stub) {
+    }
+
+    @Override
+    public void beforeStubEdited(@NonNull final StubMapping oldStub, @NonNull final StubMapping newStub) {
+    }
+
+    @Override
+    public void afterStubEdited(@NonNull final StubMapping oldStub, @NonNull final StubMapping newStub) {
+        outputsByStubMappingId.invalidate(oldStub.getId());
+        outputsByStubMappingId.invalidate(newStub.getId());
+    }
+
+    @Override
+    public void beforeStubRemoved(@NonNull final StubMapping stub) {
+    }
+
+    @Override
+    public void afterStubRemoved(@NonNull final StubMapping stub) {
+        outputsByStubMappingId.invalidate(stub.getId());
+    }
+
+    @Override
+    public void beforeStubsReset() {
+    }
+
+    @Override
+    public void afterStubsReset() {
+        outputsByStubMappingId.invalidateAll();
+        outputsByBody.invalidateAll();
+    }
+
+    DynamicMessage outputMessage(
+            final UUID stubMappingId, @NonNull final Response response, @NonNull final Descriptor messageType)
+            throws IOException {
+        if (stubMappingId != null) {
+            val outputMessage = (DynamicMessage) outputsByStubMappingId.getIfPresent(stubMappingId);
+            if (outputMessage != null) {
+                return outputMessage;
+            }
+        }
+
+        val body = response.getBodyAsString();
+        if (body.length() > MAX_CACHED_BODY_LENGTH) {
+            return messageFromJson(body, messageType);
+        }
+
+        val bodyKey = new BodyKey(messageType, false, body);
+        var outputMessage = (DynamicMessage) outputsByBody.getIfPresent(bodyKey);
+        if (outputMessage == null) {
+            outputMessage = messageFromJson(body, messageType);
+            responseFrames.put(outputMessage, new GrpcWireMockResponseFrame(outputMessage));
+            outputsByBody.put(bodyKey, outputMessage);
+        }
+        if (stubMappingId != null) {
+            outputsByStubMappingId.put(stubMappingId, outputMessage);
+        }
+        return outputMessage;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<DynamicMessage> outputMessages(
+            final UUID stubMappingId, @NonNull final Response response, @NonNull final Descriptor messageType)
+            throws IOException {
+        if (stubMappingId != null) {
+            val outputMessages = (List<DynamicMessage>) outputsByStubMappingId.getIfPresent(stubMappingId);
+            if (outputMessages != null) {
+                return outputMessages;
+            }
+        }
+
+        val body = response.getBodyAsString();
+        if (body.length() > MAX_CACHED_BODY_LENGTH) {
+            return null;
+        }
+
+        val bodyKey = new BodyKey(messageType, true, body);
+        var outputMessages = (List<DynamicMessage>) outputsByBody.getIfPresent(bodyKey);
+        if (outputMessages == null) {
+            try (GrpcJsonMessageReader reader = GrpcJsonMessageReader.of(body, messageType)) {
+                outputMessages = List.copyOf(reader.readAll());
+            }
+            for (val outputMessage : outputMessages) {
+                responseFrames.put(outputMessage, new GrpcWireMockResponseFrame(outputMessage));
+            }
+            outputsByBody.put(bodyKey, outputMessages);
+        }
+        if (stubMappingId != null) {
+            outputsByStubMappingId.put(stubMappingId, outputMessages);
+        }
+        return outputMessages;
+    }
+
+    GrpcWireMockResponseFrame responseFrame(@NonNull final DynamicMessage message) {
+        return responseFrames.get(message);
+    }
+}
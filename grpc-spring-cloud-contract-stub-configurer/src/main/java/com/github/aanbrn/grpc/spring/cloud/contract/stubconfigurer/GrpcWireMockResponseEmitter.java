@@ -0,0 +1,203 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer.GrpcWireMockOptions.ResponseDelayMode;
+import com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageReader;
+import com.google.protobuf.DynamicMessage;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class GrpcWireMockResponseEmitter {
+
+    @FunctionalInterface
+    interface MessageSource extends Closeable {
+
+        DynamicMessage next() throws IOException;
+
+        @Override
+        default void close() throws IOException {
+        }
+
+        static MessageSource of(@NonNull final GrpcJsonMessageReader reader) {
+            return new MessageSource() {
+                @Override
+                public DynamicMessage next() throws IOException {
+                    return reader.readNext();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    reader.close();
+                }
+            };
+        }
+    }
+
+    private record Emission(MessageSource source, long delayMillis) {
+    }
+
+    private final ServerCallStreamObserver<DynamicMessage> responseObserver;
+
+    private final ResponseDelayMode responseDelayMode;
+
+    private final Queue<Emission> emissions = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    private volatile boolean completed;
+
+    private volatile Status error;
+
+    private volatile boolean delayElapsed;
+
+    private Emission currentEmission;
+
+    private DynamicMessage pendingMessage;
+
+    private boolean firstMessage;
+
+    private boolean delayScheduled;
+
+    private boolean terminated;
+
+    GrpcWireMockResponseEmitter(
+            @NonNull final StreamObserver<DynamicMessage> responseObserver,
+            @NonNull final ResponseDelayMode responseDelayMode) {
+        this.responseObserver = (ServerCallStreamObserver<DynamicMessage>) responseObserver;
+        this.responseDelayMode = responseDelayMode;
+        this.responseObserver.setOnReadyHandler(this::drain);
+        this.responseObserver.setOnCancelHandler(this::drain);
+    }
+
+    void emit(@NonNull final MessageSource source) {
+        emit(source, 0);
+    }
+
+    void emit(@NonNull final MessageSource source, final long delayMillis) {
+        emissions.add(new Emission(source, delayMillis));
+        drain();
+    }
+
+    void complete() {
+        completed = true;
+        drain();
+    }
+
+    void fail(@NonNull final Status status) {
+        error = status;
+        drain();
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        var missed = 1;
+        do {
+            drainSources();
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainSources() {
+        if (terminated) {
+            terminate();
+            return;
+        }
+        while (!terminated) {
+            if (responseObserver.isCancelled()) {
+                terminate();
+                return;
+            }
+            val error = this.error;
+            if (error != null) {
+                terminate();
+                responseObserver.onError(error.asRuntimeException());
+                return;
+            }
+            if (!responseObserver.isReady()) {
+                return;
+            }
+            if (currentEmission == null) {
+                currentEmission = emissions.poll();
+                if (currentEmission == null) {
+                    if (completed && emissions.isEmpty()) {
+                        terminate();
+                        responseObserver.onCompleted();
+                    }
+                    return;
+                }
+                firstMessage = true;
+            }
+
+            if (pendingMessage == null) {
+                try {
+                    pendingMessage = currentEmission.source().next();
+                } catch (IOException | RuntimeException e) {
+                    fail(Status.INTERNAL
+                            .withDescription("Response body must contain an array of valid output messages")
+                            .withCause(e));
+                    continue;
+                }
+                if (pendingMessage == null) {
+                    close(currentEmission);
+                    currentEmission = null;
+                    continue;
+                }
+            }
+
+            if (currentEmission.delayMillis() > 0
+                    && (firstMessage || responseDelayMode == ResponseDelayMode.PER_MESSAGE)) {
+                if (!delayElapsed) {
+                    if (!delayScheduled) {
+                        delayScheduled = true;
+                        CompletableFuture
+                                .delayedExecutor(currentEmission.delayMillis(), TimeUnit.MILLISECONDS)
+                                .execute(() -> {
+                                    delayElapsed = true;
+                                    drain();
+                                });
+                    }
+                    return;
+                }
+                delayElapsed = false;
+                delayScheduled = false;
+            }
+
+            firstMessage = false;
+            val message = pendingMessage;
+            pendingMessage = null;
+            responseObserver.onNext(message);
+        }
+    }
+
+    private void terminate() {
+        terminated = true;
+        pendingMessage = null;
+        if (currentEmission != null) {
+            close(currentEmission);
+            currentEmission = null;
+        }
+        Emission emission;
+        while ((emission = emissions.poll()) != null) {
+            close(emission);
+        }
+    }
+
+    private static void close(final Emission emission) {
+        try {
+            emission.source().close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Message;
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Output message held as the ready-to-send gRPC frame, i.e. the 5-byte length prefix followed by the serialized
+ * message. The gzip compressed frame is made on first demand and kept as well.
+ */
+final class GrpcWireMockResponseFrame {
+
+    static final String GZIP_ENCODING = "gzip";
+
+    static final int HEADER_LENGTH = 5;
+
+    private static final byte UNCOMPRESSED = 0;
+
+    private static final byte COMPRESSED = 1;
+
+    private final byte[] frame;
+
+    private volatile byte[] gzippedFrame;
+
+    GrpcWireMockResponseFrame(@NonNull final Message message) throws IOException {
+        val messageLength = message.getSerializedSize();
+        this.frame = new byte[HEADER_LENGTH + messageLength];
+        writeHeader(frame, UNCOMPRESSED, messageLength);
+        val output = CodedOutputStream.newInstance(frame, HEADER_LENGTH, messageLength);
+        message.writeTo(output);
+        output.checkNoSpaceLeft();
+    }
+
+    byte[] frame() {
+        return frame;
+    }
+
+    byte[] gzippedFrame() {
+        var gzippedFrame = this.gzippedFrame;
+        if (gzippedFrame == null) {
+            gzippedFrame = gzip();
+            this.gzippedFrame = gzippedFrame;
+        }
+        return gzippedFrame;
+    }
+
+    int messageLength() {
+        return frame.length - HEADER_LENGTH;
+    }
+
+    private byte[] gzip() {
+        val output = new ByteArrayOutputStream(frame.length);
+        output.write(frame, 0, HEADER_LENGTH);
+        try (val gzipOutput = new GZIPOutputStream(output)) {
+            gzipOutput.write(frame, HEADER_LENGTH, messageLength());
+        } catch (IOException e) {
+            throw new IllegalStateException("Output message must be compressible in memory", e);
+        }
+        val gzippedFrame = output.toByteArray();
+        writeHeader(gzippedFrame, COMPRESSED, gzippedFrame.length - HEADER_LENGTH);
+        return gzippedFrame;
+    }
+
+    private static void writeHeader(final byte[] frame, final byte compressedFlag, final int messageLength) {
+        frame[0] = compressedFlag;
+        frame[1] = (byte) (messageLength >>> 24);
+        frame[2] = (byte) (messageLength >>> 16);
+        frame[3] = (byte) (messageLength >>> 8);
+        frame[4] = (byte) messageLength;
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import com.google.protobuf.DynamicMessage;
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor.Marshaller;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer.GrpcWireMockResponseFrame.HEADER_LENGTH;
+
+@RequiredArgsConstructor
+class GrpcWireMockResponseMarshaller implements Marshaller<DynamicMessage> {
+
+    /**
+     * Serialized message of a response frame. {@link GrpcWireMockServerStream} writes the frame as it is, any other
+     * consumer reads the message through the framer.
+     */
+    static final class ResponseFrameStream extends ByteArrayInputStream implements Drainable, KnownLength {
+
+        private final GrpcWireMockResponseFrame responseFrame;
+
+        private ResponseFrameStream(final GrpcWireMockResponseFrame responseFrame) {
+            super(responseFrame.frame(), HEADER_LENGTH, responseFrame.messageLength());
+            this.responseFrame = responseFrame;
+        }
+
+        GrpcWireMockResponseFrame responseFrame() {
+            return responseFrame;
+        }
+
+        @Override
+        public int drainTo(@NonNull final OutputStream target) throws IOException {
+            val length = count - pos;
+            target.write(buf, pos, length);
+            pos = count;
+            return length;
+        }
+    }
+
+    @NonNull
+    private final Marshaller<DynamicMessage> delegate;
+
+    @NonNull
+    private final GrpcWireMockResponseCache responseCache;
+
+    @Override
+    public InputStream stream(@NonNull final DynamicMessage value) {
+        val responseFrame = responseCache.responseFrame(value);
+        if (responseFrame != null) {
+            return new ResponseFrameStream(responseFrame);
+        }
+        return delegate.stream(value);
+    }
+
+    @Override
+    public DynamicMessage parse(@NonNull final InputStream stream) {
+        return delegate.parse(stream);
+    }
+}
@@ -1,6 +1,11 @@
 package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
 
+import com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer.GrpcWireMockResponseMarshaller.ResponseFrameStream;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.Attributes;
+import io.grpc.Codec;
+import io.grpc.Compressor;
+import io.grpc.Decompressor;
 import io.grpc.Metadata;
 import io.grpc.Status;
 import io.grpc.internal.*;
@@ -15,11 +20,18 @@ import wiremock.org.eclipse.jetty.server.AsyncContextState;
 import wiremock.org.eclipse.jetty.server.Response;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
+import static com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer.GrpcWireMockResponseFrame.GZIP_ENCODING;
+import static com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer.GrpcWireMockResponseFrame.HEADER_LENGTH;
 import static io.grpc.internal.GrpcUtil.CONTENT_TYPE_KEY;
 import static io.grpc.internal.GrpcUtil.DEFAULT_MAX_MESSAGE_SIZE;
 import static java.lang.Math.max;
@@ -36,6 +48,9 @@ class GrpcWireMockServerStream extends AbstractServerStream {
         @Setter(AccessLevel.PRIVATE)
         private GrpcWireMockServerStream stream;
 
+        @Setter(AccessLevel.PACKAGE)
+        private IntConsumer bytesReadListener;
+
         GrpcWireMockServerTransportState(final StatsTraceContext statsTraceContext) {
             super(DEFAULT_MAX_MESSAGE_SIZE, statsTraceContext, new TransportTracer());
         }
@@ -47,6 +62,9 @@ class GrpcWireMockServerStream extends AbstractServerStream {
 
         @Override
         public void bytesRead(final int numBytes) {
+            if (bytesReadListener != null) {
+                bytesReadListener.accept(numBytes);
+            }
         }
 
         @Override
@@ -57,17 +75,19 @@ class GrpcWireMockServerStream extends AbstractServerStream {
         }
     }
 
-    private static class ByteArrayWritableBuffer implements WritableBuffer {
+    private static class PooledWritableBuffer implements WritableBuffer {
 
-        private final int capacity;
+        private final GrpcWireMockBufferPool bufferPool;
 
-        private final byte[] bytes;
+        private byte[] bytes;
 
         private int offset;
 
-        ByteArrayWritableBuffer(final int capacityHint) {
-            this.capacity = min(max(4096, capacityHint), 1024 * 1024);
-            this.bytes = new byte[this.capacity];
+        PooledWritableBuffer(final GrpcWireMockBufferPool bufferPool, final int capacityHint) {
+            this.bufferPool = bufferPool;
+            this.bytes = bufferPool.acquire(
+                    min(max(GrpcWireMockBufferPool.MIN_BUFFER_SIZE, capacityHint),
+                            GrpcWireMockBufferPool.MAX_BUFFER_SIZE));
         }
 
         @Override
@@ -83,7 +103,7 @@ class GrpcWireMockServerStream extends AbstractServerStream {
 
         @Override
         public int writableBytes() {
-            return capacity - offset;
+            return bytes.length - offset;
         }
 
         @Override
@@ -93,17 +113,97 @@ class GrpcWireMockServerStream extends AbstractServerStream {
 
         @Override
         public void release() {
+            val bytes = this.bytes;
+            if (bytes != null) {
+                this.bytes = null;
+                bufferPool.release(bytes);
+            }
         }
     }
 
     @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
     private class GrpcWireMockServerStreamSink implements Sink, AsyncListener, WriteListener {
 
-        private interface OutputTask {
+        private sealed interface OutputTask permits FrameTask, ResponseFrameTask, FlushTask, CloseTask {
 
             void run() throws IOException;
+
+            default void discard() {
+            }
+        }
+
+        @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+        private final class FrameTask implements OutputTask {
+
+            private final PooledWritableBuffer frame;
+
+            private final int numBytes;
+
+            private final boolean flush;
+
+            @Override
+            public void run() throws IOException {
+                writtenFrames.add(frame);
+                output.write(frame.bytes, 0, numBytes);
+
+                if (numBytes > 0) {
+                    transportState.runOnTransportThread(() -> transportState.onSentBytes(numBytes));
+                }
+
+                if (flush) {
+                    flushPending = true;
+                }
+            }
+
+            @Override
+            public void discard() {
+                frame.release();
+            }
+        }
+
+        @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+        private final class ResponseFrameTask implements OutputTask {
+
+            private final byte[] frame;
+
+            @Override
+            public void run() throws IOException {
+                output.write(frame);
+
+                transportState.runOnTransportThread(() -> transportState.onSentBytes(frame.length));
+            }
+        }
+
+        private final class FlushTask implements OutputTask {
+
+            @Override
+            public void run() {
+                flushPending = true;
+            }
+        }
+
+        @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+        private final class CloseTask implements OutputTask {
+
+            private final boolean completeTransport;
+
+            @Override
+            public void run() {
+                releaseWrittenFrames();
+                flushPending = false;
+
+                if (completeTransport) {
+                    transportState.complete();
+                }
+
+                closeQuietly(output);
+
+                asyncContext.complete();
+            }
         }
 
+        private final OutputTask flushTask = new FlushTask();
+
         @NonNull
         private final ServletOutputStream output;
 
@@ -113,6 +213,13 @@ class GrpcWireMockServerStream extends AbstractServerStream {
 
         private final AtomicBoolean outputting = new AtomicBoolean();
 
+        private final List<WritableBuffer> writtenFrames = new ArrayList<>();
+
+        // Like writtenFrames, only accessed while holding the outputting guard
+        private boolean flushPending;
+
+        private volatile boolean completed;
+
         private void start() {
             asyncContext.addListener(this);
             output.setWriteListener(this);
@@ -138,7 +245,7 @@ class GrpcWireMockServerStream extends AbstractServerStream {
 
             if (flush) {
                 try {
-                    execute(response::flushBuffer);
+                    execute(flushTask);
                 } catch (IOException e) {
                     cancel(Status.fromThrowable(e));
                 }
@@ -158,16 +265,28 @@ class GrpcWireMockServerStream extends AbstractServerStream {
                         onSendingBytes(numBytes);
                     }
 
-                    execute(() -> {
-                        output.write(((ByteArrayWritableBuffer) frame).bytes, 0, numBytes);
-
-                        transportState.runOnTransportThread(() -> transportState.onSentBytes(numBytes));
-                    });
+                    execute(new FrameTask((PooledWritableBuffer) frame, numBytes, flush));
+                } else {
+                    execute(flushTask);
                 }
+            } catch (IOException e) {
+                cancel(Status.fromThrowable(e));
+            }
+        }
 
-                if (flush) {
-                    execute(response::flushBuffer);
-                }
+        private void writeResponseFrame(final byte[] frame) {
+            onSendingBytes(frame.length);
+
+            try {
+                execute(new ResponseFrameTask(frame));
+            } catch (IOException e) {
+                cancel(Status.fromThrowable(e));
+            }
+        }
+
+        private void flush() {
+            try {
+                execute(flushTask);
             } catch (IOException e) {
                 cancel(Status.fromThrowable(e));
             }
@@ -187,13 +306,7 @@ class GrpcWireMockServerStream extends AbstractServerStream {
             }
 
             try {
-                execute(() -> {
-                    transportState.complete();
-
-                    closeQuietly(output);
-
-                    asyncContext.complete();
-                });
+                execute(new CloseTask(true));
             } catch (IOException ignored) {
             }
         }
@@ -202,18 +315,18 @@ class GrpcWireMockServerStream extends AbstractServerStream {
         public void cancel(@NonNull final Status status) {
             transportState.runOnTransportThread(() -> transportState.transportReportStatus(status));
 
-            if (response.isCommitted() || status == Status.DEADLINE_EXCEEDED) {
+            if (response.isCommitted()) {
                 return;
             }
 
-            close(Status.CANCELLED.withCause(status.asRuntimeException()), new Metadata());
+            if (status.getCode() == Status.Code.DEADLINE_EXCEEDED) {
+                close(status, new Metadata());
+            } else {
+                close(Status.CANCELLED.withCause(status.asRuntimeException()), new Metadata());
+            }
 
             try {
-                execute(() -> {
-                    closeQuietly(output);
-
-                    asyncContext.complete();
-                });
+                execute(new CloseTask(false));
             } catch (IOException ignored) {
             }
         }
@@ -256,6 +369,13 @@ class GrpcWireMockServerStream extends AbstractServerStream {
 
         @Override
         public void onComplete(final AsyncEvent event) {
+            completed = true;
+            try {
+                drainOutputQueue();
+            } catch (IOException ignored) {
+            }
+
+            closeListener.accept(GrpcWireMockServerStream.this);
         }
 
         private void execute(@NonNull final OutputTask outputTask) throws IOException {
@@ -264,45 +384,227 @@ class GrpcWireMockServerStream extends AbstractServerStream {
         }
 
         private void drainOutputQueue() throws IOException {
-            if (output.isReady() && outputting.compareAndSet(false, true)) {
+            while (outputting.compareAndSet(false, true)) {
+                final boolean blocked;
                 try {
-                    while (output.isReady()) {
-                        val outputTask = outputQueue.poll();
-                        if (outputTask != null) {
-                            outputTask.run();
-                        } else {
-                            break;
-                        }
+                    if (completed) {
+                        discardOutput();
+                        blocked = false;
+                    } else {
+                        blocked = !writeOutput();
                     }
                 } finally {
                     outputting.set(false);
                 }
+
+                if (blocked || outputQueue.isEmpty()) {
+                    return;
+                }
+            }
+        }
+
+        private boolean writeOutput() throws IOException {
+            while (output.isReady()) {
+                releaseWrittenFrames();
+
+                val outputTask = outputQueue.poll();
+                if (outputTask != null) {
+                    outputTask.run();
+                } else if (flushPending) {
+                    flushPending = false;
+                    response.flushBuffer();
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void discardOutput() {
+            releaseWrittenFrames();
+            flushPending = false;
+
+            OutputTask outputTask;
+            while ((outputTask = outputQueue.poll()) != null) {
+                outputTask.discard();
+            }
+        }
+
+        private void releaseWrittenFrames() {
+            if (!writtenFrames.isEmpty()) {
+                writtenFrames.forEach(WritableBuffer::release);
+                writtenFrames.clear();
             }
         }
     }
 
+    /**
+     * Front of the stream handed to the server. Response frames of cached output messages go from here straight to
+     * the sink, since the framer behind the final {@link AbstractStream#writeMessage(InputStream)} would copy them.
+     */
+    private class ResponseFrameWritingStream implements ServerStream {
+
+        private Compressor compressor = Codec.Identity.NONE;
+
+        private boolean messageCompression = true;
+
+        private boolean flushPending;
+
+        private int messageSeqNo = -1;
+
+        @Override
+        public void writeMessage(final InputStream message) {
+            if (message instanceof ResponseFrameStream responseFrameStream && !framer().isClosed()) {
+                val frame = responseFrame(responseFrameStream.responseFrame());
+                if (frame != null) {
+                    // Anything the framer still holds goes out first
+                    GrpcWireMockServerStream.this.flush();
+
+                    val messageLength = responseFrameStream.responseFrame().messageLength();
+                    val wireSize = frame.length - HEADER_LENGTH;
+                    val statsTraceContext = statsTraceContext();
+                    statsTraceContext.outboundMessage(++messageSeqNo);
+                    sink.writeResponseFrame(frame);
+                    flushPending = true;
+                    statsTraceContext.outboundUncompressedSize(messageLength);
+                    statsTraceContext.outboundWireSize(wireSize);
+                    statsTraceContext.outboundMessageSent(messageSeqNo, wireSize, messageLength);
+                    return;
+                }
+            }
+            GrpcWireMockServerStream.this.writeMessage(message);
+        }
+
+        private byte[] responseFrame(final GrpcWireMockResponseFrame responseFrame) {
+            if (!messageCompression || compressor == Codec.Identity.NONE) {
+                return responseFrame.frame();
+            }
+            if (GZIP_ENCODING.equals(compressor.getMessageEncoding())) {
+                return responseFrame.gzippedFrame();
+            }
+            return null;
+        }
+
+        @Override
+        public void flush() {
+            GrpcWireMockServerStream.this.flush();
+            if (flushPending) {
+                flushPending = false;
+                sink.flush();
+            }
+        }
+
+        @Override
+        public void setCompressor(@NonNull final Compressor compressor) {
+            this.compressor = compressor;
+            GrpcWireMockServerStream.this.setCompressor(compressor);
+        }
+
+        @Override
+        public void setMessageCompression(final boolean enable) {
+            this.messageCompression = enable;
+            GrpcWireMockServerStream.this.setMessageCompression(enable);
+        }
+
+        @Override
+        public void writeHeaders(final Metadata headers, final boolean flush) {
+            GrpcWireMockServerStream.this.writeHeaders(headers, flush);
+        }
+
+        @Override
+        public void close(final Status status, final Metadata trailers) {
+            GrpcWireMockServerStream.this.close(status, trailers);
+        }
+
+        @Override
+        public void cancel(final Status status) {
+            GrpcWireMockServerStream.this.cancel(status);
+        }
+
+        @Override
+        public void setDecompressor(final Decompressor decompressor) {
+            GrpcWireMockServerStream.this.setDecompressor(decompressor);
+        }
+
+        @Override
+        public Attributes getAttributes() {
+            return GrpcWireMockServerStream.this.getAttributes();
+        }
+
+        @Override
+        public String getAuthority() {
+            return GrpcWireMockServerStream.this.getAuthority();
+        }
+
+        @Override
+        public void setListener(final ServerStreamListener serverStreamListener) {
+            GrpcWireMockServerStream.this.setListener(serverStreamListener);
+        }
+
+        @Override
+        public StatsTraceContext statsTraceContext() {
+            return GrpcWireMockServerStream.this.statsTraceContext();
+        }
+
+        @Override
+        public int streamId() {
+            return GrpcWireMockServerStream.this.streamId();
+        }
+
+        @Override
+        public void setOnReadyThreshold(final int numBytes) {
+            GrpcWireMockServerStream.this.setOnReadyThreshold(numBytes);
+        }
+
+        @Override
+        public void request(final int numMessages) {
+            GrpcWireMockServerStream.this.request(numMessages);
+        }
+
+        @Override
+        public boolean isReady() {
+            return GrpcWireMockServerStream.this.isReady();
+        }
+
+        @Override
+        public void optimizeForDirectExecutor() {
+            GrpcWireMockServerStream.this.optimizeForDirectExecutor();
+        }
+    }
+
     private final AsyncContextState asyncContext;
 
     private final Response response;
 
     private final GrpcWireMockServerTransportState transportState;
 
+    private final Consumer<GrpcWireMockServerStream> closeListener;
+
     private final GrpcWireMockServerStreamSink sink;
 
+    private final ResponseFrameWritingStream responseFrameWritingStream = new ResponseFrameWritingStream();
+
     GrpcWireMockServerStream(
             @NonNull final AsyncContextState asyncContext,
             @NonNull final GrpcWireMockServerTransportState transportState,
-            @NonNull final StatsTraceContext statsTraceContext) throws IOException {
-        super(ByteArrayWritableBuffer::new, statsTraceContext);
+            @NonNull final StatsTraceContext statsTraceContext,
+            @NonNull final GrpcWireMockBufferPool bufferPool,
+            @NonNull final Consumer<GrpcWireMockServerStream> closeListener) throws IOException {
+        super(capacityHint -> new PooledWritableBuffer(bufferPool, capacityHint), statsTraceContext);
 
         this.asyncContext = asyncContext;
         this.response = (Response) asyncContext.getResponse();
         this.transportState = transportState;
         this.transportState.setStream(this);
+        this.closeListener = closeListener;
 
         this.sink = new GrpcWireMockServerStreamSink(this.response.getOutputStream());
     }
 
+    ServerStream responseFrameWritingStream() {
+        return responseFrameWritingStream;
+    }
+
     void start() {
         sink.start();
 
@@ -1,12 +1,12 @@
 package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
 
-import com.github.tomakehurst.wiremock.http.StubRequestHandler;
 import com.google.protobuf.Descriptors.MethodDescriptor;
 import com.google.protobuf.DynamicMessage;
 import io.grpc.stub.ServerCalls.ServerStreamingMethod;
 import io.grpc.stub.StreamObserver;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.val;
 
 @RequiredArgsConstructor
 class GrpcWireMockServerStreamingMethodHandler
@@ -16,12 +16,15 @@ class GrpcWireMockServerStreamingMethodHandler
     private final MethodDescriptor methodDescriptor;
 
     @NonNull
-    private final StubRequestHandler stubRequestHandler;
+    private final GrpcWireMockStubRouter stubRouter;
 
     @Override
     public void invoke(final DynamicMessage inputMessage, final StreamObserver<DynamicMessage> responseObserver) {
-        stubRequestHandler.handle(
+        stubRouter.callStarted(methodDescriptor);
+
+        val responseEmitter = new GrpcWireMockResponseEmitter(responseObserver, stubRouter.getResponseDelayMode());
+        stubRouter.route(
                 new GrpcWireMockRequest(methodDescriptor, inputMessage),
-                streamingResponder(methodDescriptor, responseObserver));
+                streamingResponder(methodDescriptor, stubRouter.getResponseCache(), responseEmitter));
     }
 }
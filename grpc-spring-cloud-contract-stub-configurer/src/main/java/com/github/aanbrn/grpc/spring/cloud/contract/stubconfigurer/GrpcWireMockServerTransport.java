@@ -8,27 +8,32 @@ import io.grpc.InternalChannelz.SocketStats;
 import io.grpc.InternalLogId;
 import io.grpc.ServerStreamTracer.Factory;
 import io.grpc.Status;
-import io.grpc.internal.*;
+import io.grpc.internal.GrpcUtil;
+import io.grpc.internal.ReadableBuffers;
+import io.grpc.internal.ServerTransport;
+import io.grpc.internal.ServerTransportListener;
+import io.grpc.internal.StatsTraceContext;
 import lombok.*;
 import wiremock.javax.servlet.ReadListener;
 import wiremock.javax.servlet.ServletInputStream;
+import wiremock.org.eclipse.jetty.io.EndPoint;
 import wiremock.org.eclipse.jetty.server.AsyncContextState;
 import wiremock.org.eclipse.jetty.server.Request;
 import wiremock.org.eclipse.jetty.server.Response;
 
 import java.io.IOException;
-import java.net.InetAddress;
-import java.net.InetSocketAddress;
-import java.net.SocketAddress;
-import java.net.UnknownHostException;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static java.lang.Math.max;
 import static shaded.com.google.common.base.Preconditions.checkState;
 import static wiremock.org.apache.commons.io.IOUtils.closeQuietly;
 
-@RequiredArgsConstructor
 class GrpcWireMockServerTransport implements ServerTransport {
 
     @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
@@ -37,21 +42,51 @@ class GrpcWireMockServerTransport implements ServerTransport {
         @NonNull
         private final ServletInputStream input;
 
-        private final byte[] buffer = new byte[4 * 1024];
+        private final AtomicInteger pendingBytes = new AtomicInteger();
+
+        private final AtomicBoolean paused = new AtomicBoolean();
+
+        private GrpcWireMockServerStream stream;
+
+        private void start(final GrpcWireMockServerStream stream) {
+            this.stream = stream;
 
-        private void start() {
             input.setReadListener(this);
         }
 
         @Override
         public void onDataAvailable() throws IOException {
             while (input.isReady()) {
-                val length = input.read(buffer);
-                if (length == -1) {
-                    break;
+                if (pendingBytes.get() >= inboundWindowSize) {
+                    paused.set(true);
+                    if (pendingBytes.get() >= inboundWindowSize || !paused.compareAndSet(true, false)) {
+                        return;
+                    }
                 }
+
+                val buffer = bufferPool.acquire(inboundChunkSize);
+                val length = input.read(buffer, 0, buffer.length);
+                if (length <= 0) {
+                    bufferPool.release(buffer);
+                    if (length == -1) {
+                        break;
+                    }
+                    continue;
+                }
+                pendingBytes.addAndGet(length);
+                val data = GrpcWireMockPooledReadableBuffer.wrap(bufferPool, buffer, length);
                 stream.transportState().runOnTransportThread(() -> stream.transportState().inboundDataReceived(
-                        ReadableBuffers.wrap(Arrays.copyOf(buffer, length)), false));
+                        data, false));
+            }
+        }
+
+        private void onBytesConsumed(final int numBytes) {
+            if (pendingBytes.addAndGet(-numBytes) < inboundWindowSize && paused.compareAndSet(true, false)) {
+                try {
+                    onDataAvailable();
+                } catch (IOException | RuntimeException e) {
+                    onError(e);
+                }
             }
         }
 
@@ -72,80 +107,123 @@ class GrpcWireMockServerTransport implements ServerTransport {
     }
 
     @Getter
-    private final InternalLogId logId = InternalLogId.allocate(GrpcWireMockServerTransport.class, null);
+    private final InternalLogId logId;
 
     @Getter
-    private final ScheduledExecutorService scheduledExecutorService = SharedResourceHolder.get(GrpcUtil.TIMER_SERVICE);
+    private final ScheduledExecutorService scheduledExecutorService;
 
-    @NonNull
-    private final Request request;
+    private final EndPoint endPoint;
 
-    @NonNull
-    private final Response response;
-
-    @NonNull
     private final List<? extends Factory> streamTracerFactories;
 
-    private ServerTransportListener serverTransportListener;
+    private final GrpcWireMockBufferPool bufferPool;
 
-    private GrpcWireMockServerStream stream;
+    private final int inboundChunkSize;
 
-    void start(@NonNull final ServerTransportListener serverTransportListener) throws IOException {
-        this.serverTransportListener = serverTransportListener;
+    private final int inboundWindowSize;
 
-        checkState(request.isAsyncSupported(), "Request must support asynchronous operation");
+    private final Set<GrpcWireMockServerStream> streams = ConcurrentHashMap.newKeySet();
 
-        val methodName = GrpcWireMockUtils.extractMethodName(request);
-        val headers = GrpcWireMockUtils.extractHeaders(request);
+    private final AtomicBoolean terminated = new AtomicBoolean();
 
-        final SocketAddress localAddress;
-        try {
-            localAddress = new InetSocketAddress(
-                    InetAddress.getByName(request.getLocalAddr()), request.getLocalPort());
-        } catch (UnknownHostException e) {
-            throw new IllegalStateException(e);
-        }
-        final SocketAddress remoteAddress;
-        try {
-            remoteAddress = new InetSocketAddress(
-                    InetAddress.getByName(request.getRemoteAddr()), request.getRemotePort());
-        } catch (UnknownHostException e) {
-            throw new IllegalStateException(e);
-        }
+    private volatile boolean shutdown;
+
+    private ServerTransportListener serverTransportListener;
+
+    GrpcWireMockServerTransport(
+            @NonNull final EndPoint endPoint,
+            @NonNull final ScheduledExecutorService scheduledExecutorService,
+            @NonNull final List<? extends Factory> streamTracerFactories,
+            @NonNull final GrpcWireMockBufferPool bufferPool,
+            final int inboundChunkSize,
+            final int inboundWindowSize) {
+        this.logId = InternalLogId.allocate(
+                GrpcWireMockServerTransport.class, String.valueOf(endPoint.getRemoteAddress()));
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.endPoint = endPoint;
+        this.streamTracerFactories = streamTracerFactories;
+        this.bufferPool = bufferPool;
+        this.inboundChunkSize = inboundChunkSize;
+        this.inboundWindowSize = inboundWindowSize;
+    }
+
+    void start(@NonNull final ServerTransportListener serverTransportListener) {
+        this.serverTransportListener = serverTransportListener;
 
         this.serverTransportListener.transportReady(
                 Attributes.newBuilder()
-                        .set(Grpc.TRANSPORT_ATTR_LOCAL_ADDR, localAddress)
-                        .set(Grpc.TRANSPORT_ATTR_REMOTE_ADDR, remoteAddress)
+                        .set(Grpc.TRANSPORT_ATTR_LOCAL_ADDR, endPoint.getLocalAddress())
+                        .set(Grpc.TRANSPORT_ATTR_REMOTE_ADDR, endPoint.getRemoteAddress())
                         .build());
+    }
+
+    void startStream(@NonNull final Request request, @NonNull final Response response) throws IOException {
+        checkState(serverTransportListener != null, "Transport must be started");
+        checkState(!shutdown, "Transport must be running");
+        checkState(request.isAsyncSupported(), "Request must support asynchronous operation");
+
+        val methodName = GrpcWireMockUtils.extractMethodName(request);
+        val headers = GrpcWireMockUtils.extractHeaders(request);
 
         val asyncContext = (AsyncContextState) request.startAsync(request, response);
 
+        val timeoutNanos = headers.get(GrpcUtil.TIMEOUT_KEY);
+        if (timeoutNanos != null) {
+            asyncContext.setTimeout(max(1, TimeUnit.NANOSECONDS.toMillis(timeoutNanos)));
+        } else {
+            // Calls without a deadline must not be cut off by the container's default async timeout
+            asyncContext.setTimeout(0);
+        }
+
         val statsTraceContext = StatsTraceContext.newServerContext(streamTracerFactories, methodName, headers);
 
         val transportState = new GrpcWireMockServerTransportState(statsTraceContext);
 
-        stream = new GrpcWireMockServerStream(asyncContext, transportState, statsTraceContext);
-        serverTransportListener.streamCreated(stream, methodName, headers);
+        val source = new GrpcWireMockServerTransportSource(request.getInputStream());
+        transportState.setBytesReadListener(source::onBytesConsumed);
+
+        val stream = new GrpcWireMockServerStream(
+                asyncContext, transportState, statsTraceContext, bufferPool, this::streamClosed);
+        streams.add(stream);
+        serverTransportListener.streamCreated(stream.responseFrameWritingStream(), methodName, headers);
 
         stream.start();
 
-        val source = new GrpcWireMockServerTransportSource(request.getInputStream());
-        source.start();
+        source.start(stream);
+    }
+
+    private void streamClosed(final GrpcWireMockServerStream stream) {
+        if (streams.remove(stream) && shutdown && streams.isEmpty()) {
+            terminate();
+        }
     }
 
     @Override
     public void shutdown() {
-        if (serverTransportListener != null) {
-            SharedResourceHolder.release(GrpcUtil.TIMER_SERVICE, scheduledExecutorService);
-            serverTransportListener.transportTerminated();
+        shutdown = true;
+        if (streams.isEmpty()) {
+            terminate();
         }
     }
 
     @Override
-    public void shutdownNow(Status reason) {
-        if (this.stream != null) {
-            this.stream.transportState().transportReportStatus(reason);
+    public void shutdownNow(@NonNull final Status reason) {
+        shutdown();
+
+        for (val stream : streams) {
+            stream.transportState().runOnTransportThread(() -> stream.transportState().transportReportStatus(reason));
+        }
+    }
+
+    void connectionClosed() {
+        shutdownNow(Status.UNAVAILABLE.withDescription("Connection closed"));
+
+        terminate();
+    }
+
+    private void terminate() {
+        if (serverTransportListener != null && terminated.compareAndSet(false, true)) {
+            serverTransportListener.transportTerminated();
         }
     }
 
@@ -0,0 +1,217 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import com.github.tomakehurst.wiremock.extension.StubLifecycleListener;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import io.grpc.ServiceDescriptor;
+import io.grpc.protobuf.ProtoMethodDescriptorSupplier;
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+class GrpcWireMockStubIndex implements StubLifecycleListener {
+
+    record Candidate(
+            StubMapping stubMapping,
+            boolean matchable,
+            GrpcWireMockMessagePattern messagePattern,
+            Response staticResponse) {
+    }
+
+    private record Snapshot(
+            long version, Map<String, List<Candidate>> candidatesByUrl, List<Candidate> anyUrlCandidates) {
+    }
+
+    private static final int DEFAULT_PRIORITY = 5;
+
+    private static final Set<String> TEMPLATING_TRANSFORMERS = Set.of("response-template", "spring-cloud-contract");
+
+    private static final Comparator<StubMapping> STUB_MAPPING_ORDER =
+            Comparator.<StubMapping>comparingInt(
+                            stubMapping -> stubMapping.getPriority() != null
+                                    ? stubMapping.getPriority()
+                                    : DEFAULT_PRIORITY)
+                    .thenComparing(Comparator.comparingLong(StubMapping::getInsertionIndex).reversed());
+
+    private final Map<String, MethodDescriptor> methodDescriptors;
+
+    private final boolean messageMatchingEnabled;
+
+    private final Map<UUID, StubMapping> stubMappings = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    GrpcWireMockStubIndex(
+            @NonNull final Collection<ServiceDescriptor> services, final boolean messageMatchingEnabled) {
+        val methodDescriptors = new HashMap<String, MethodDescriptor>();
+        for (val service : services) {
+            for (val method : service.getMethods()) {
+                if (method.getSchemaDescriptor() instanceof ProtoMethodDescriptorSupplier schemaDescriptor) {
+                    methodDescriptors.put("/" + method.getFullMethodName(), schemaDescriptor.getMethodDescriptor());
+                }
+            }
+        }
+        this.methodDescriptors = Map.copyOf(methodDescriptors);
+        this.messageMatchingEnabled = messageMatchingEnabled;
+    }
+
+    @Override
+    public String getName() {
+        return "grpc-stub-index";
+    }
+
+    @Override
+    public void beforeStubCreated(@NonNull final StubMapping stub) {
+    }
+
+    @Override
+    public void afterStubCreated(@NonNull final StubMapping stub) {
+        stubMappings.put(stub.getId(), stub);
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void beforeStubEdited(@NonNull final StubMapping oldStub, @NonNull final StubMapping newStub) {
+    }
+
+    @Override
+    public void afterStubEdited(@NonNull final StubMapping oldStub, @NonNull final StubMapping newStub) {
+        stubMappings.remove(oldStub.getId());
+        stubMappings.put(newStub.getId(), newStub);
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void beforeStubRemoved(@NonNull final StubMapping stub) {
+    }
+
+    @Override
+    public void afterStubRemoved(@NonNull final StubMapping stub) {
+        stubMappings.remove(stub.getId());
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void beforeStubsReset() {
+    }
+
+    @Override
+    public void afterStubsReset() {
+        stubMappings.clear();
+        version.incrementAndGet();
+    }
+
+    List<Candidate> candidates(@NonNull final String url) {
+        var snapshot = this.snapshot;
+        if (snapshot == null || snapshot.version() != version.get()) {
+            snapshot = rebuild();
+        }
+        return snapshot.candidatesByUrl().getOrDefault(url, snapshot.anyUrlCandidates());
+    }
+
+    private synchronized Snapshot rebuild() {
+        val version = this.version.get();
+        var snapshot = this.snapshot;
+        if (snapshot != null && snapshot.version() == version) {
+            return snapshot;
+        }
+
+        val stubMappingsByUrl = new HashMap<String, List<StubMapping>>();
+        val anyUrlStubMappings = new ArrayList<StubMapping>();
+        for (val stubMapping : stubMappings.values()) {
+            val requestPattern = stubMapping.getRequest();
+            val method = requestPattern.getMethod();
+            if (method != null && !RequestMethod.POST.equals(method) && !RequestMethod.ANY.equals(method)) {
+                continue;
+            }
+            val url = requestPattern.getUrl() != null ? requestPattern.getUrl() : requestPattern.getUrlPath();
+            if (url != null) {
+                stubMappingsByUrl.computeIfAbsent(url, key -> new ArrayList<>()).add(stubMapping);
+            } else {
+                anyUrlStubMappings.add(stubMapping);
+            }
+        }
+
+        val candidatesByUrl = new HashMap<String, List<Candidate>>();
+        stubMappingsByUrl.forEach((url, urlStubMappings) -> {
+            urlStubMappings.addAll(anyUrlStubMappings);
+            candidatesByUrl.put(url, candidates(urlStubMappings, methodDescriptors.get(url)));
+        });
+
+        snapshot = new Snapshot(version, Map.copyOf(candidatesByUrl), candidates(anyUrlStubMappings, null));
+        this.snapshot = snapshot;
+        return snapshot;
+    }
+
+    private List<Candidate> candidates(final List<StubMapping> stubMappings, final MethodDescriptor methodDescriptor) {
+        stubMappings.sort(STUB_MAPPING_ORDER);
+        val candidates = new ArrayList<Candidate>(stubMappings.size());
+        for (val stubMapping : stubMappings) {
+            candidates.add(new Candidate(
+                    stubMapping,
+                    stubMapping.getRequest().getCustomMatcher() == null,
+                    messageMatchingEnabled && methodDescriptor != null
+                            ? GrpcWireMockMessagePattern.compile(stubMapping.getRequest(), methodDescriptor)
+                            : null,
+                    staticResponse(stubMapping)));
+        }
+        return List.copyOf(candidates);
+    }
+
+    private static Response staticResponse(final StubMapping stubMapping) {
+        if (stubMapping.getScenarioName() != null
+                || stubMapping.getPostServeActions() != null && !stubMapping.getPostServeActions().isEmpty()) {
+            return null;
+        }
+
+        val responseDefinition = stubMapping.getResponse();
+        if (responseDefinition.getFault() != null
+                || responseDefinition.getFixedDelayMilliseconds() != null
+                || responseDefinition.getDelayDistribution() != null
+                || responseDefinition.getChunkedDribbleDelay() != null
+                || responseDefinition.getProxyBaseUrl() != null
+                || responseDefinition.getBodyFileName() != null
+                || responseDefinition.getBase64Body() != null) {
+            return null;
+        }
+
+        val body = responseDefinition.getBody() != null ? responseDefinition.getBody() : "";
+        val headers = responseDefinition.getHeaders() != null
+                ? responseDefinition.getHeaders()
+                : HttpHeaders.noHeaders();
+
+        val transformers = responseDefinition.getTransformers();
+        if (transformers != null && !transformers.isEmpty()) {
+            // Templating transformers leave a response without any template expressions as is
+            if (!TEMPLATING_TRANSFORMERS.containsAll(transformers) || isTemplate(body)) {
+                return null;
+            }
+            for (val header : headers.all()) {
+                for (val value : header.values()) {
+                    if (isTemplate(value)) {
+                        return null;
+                    }
+                }
+            }
+        }
+
+        return Response
+                .response()
+                .status(responseDefinition.getStatus())
+                .headers(headers)
+                .body(body)
+                .build();
+    }
+
+    private static boolean isTemplate(final String value) {
+        return value != null && value.contains("{{");
+    }
+}
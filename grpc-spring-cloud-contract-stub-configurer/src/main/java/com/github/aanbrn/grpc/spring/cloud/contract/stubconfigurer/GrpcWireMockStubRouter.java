@@ -0,0 +1,103 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer.GrpcWireMockOptions.ResponseDelayMode;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.http.StubRequestHandler;
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import io.grpc.Status;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+@RequiredArgsConstructor
+class GrpcWireMockStubRouter {
+
+    @NonNull
+    private final StubRequestHandler stubRequestHandler;
+
+    private final GrpcWireMockStubIndex stubIndex;
+
+    private final boolean staticResponsesAllowed;
+
+    @Getter
+    private final GrpcWireMockResponseCache responseCache;
+
+    @Getter
+    @NonNull
+    private final ResponseDelayMode responseDelayMode;
+
+    @Getter
+    private final GrpcWireMockMetrics metrics;
+
+    private final GrpcWireMockCallCounter callCounter;
+
+    void callStarted(@NonNull final MethodDescriptor methodDescriptor) {
+        if (callCounter != null) {
+            callCounter.callReceived(methodDescriptor.getService().getFullName() + "/" + methodDescriptor.getName());
+        }
+    }
+
+    void route(@NonNull final GrpcWireMockRequest request, @NonNull final GrpcWireMockResponder responder) {
+        if (metrics == null) {
+            doRoute(request, responder);
+            return;
+        }
+
+        val startNanos = System.nanoTime();
+        doRoute(request, (response, stubMappingId) -> {
+            metrics.stubRouted(request.getUrl(), System.nanoTime() - startNanos, response.wasConfigured());
+            responder.respond(response, stubMappingId);
+        });
+    }
+
+    private void doRoute(final GrpcWireMockRequest request, final GrpcWireMockResponder responder) {
+        if (stubIndex == null) {
+            handle(request, responder);
+            return;
+        }
+
+        val candidates = stubIndex.candidates(request.getUrl());
+        if (candidates.isEmpty()) {
+            responder.respond(unimplementedResponse(request), null);
+            return;
+        }
+
+        for (val candidate : candidates) {
+            final boolean matched;
+            if (candidate.messagePattern() != null) {
+                matched = candidate.messagePattern().matches(request);
+            } else if (candidate.matchable()) {
+                matched = candidate.stubMapping().getRequest().match(request).isExactMatch();
+            } else {
+                break;
+            }
+            if (matched) {
+                if (staticResponsesAllowed && candidate.staticResponse() != null) {
+                    responder.respond(candidate.staticResponse(), candidate.stubMapping().getId());
+                    return;
+                }
+                break;
+            }
+        }
+
+        handle(request, responder);
+    }
+
+    private void handle(final GrpcWireMockRequest request, final GrpcWireMockResponder responder) {
+        stubRequestHandler.handle(request, (wireMockRequest, response) -> responder.respond(response, null));
+    }
+
+    private static Response unimplementedResponse(final GrpcWireMockRequest request) {
+        return Response
+                .response()
+                .status(200)
+                .configured(false)
+                .headers(new HttpHeaders(
+                        new HttpHeader("grpc-status", String.valueOf(Status.Code.UNIMPLEMENTED.value())),
+                        new HttpHeader("grpc-message", "No stubs for the gRPC method: " + request.getUrl())))
+                .build();
+    }
+}
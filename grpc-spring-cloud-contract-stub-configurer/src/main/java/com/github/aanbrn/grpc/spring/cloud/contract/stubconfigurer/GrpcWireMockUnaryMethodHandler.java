@@ -1,6 +1,5 @@
 package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
 
-import com.github.tomakehurst.wiremock.http.StubRequestHandler;
 import com.google.protobuf.Descriptors.MethodDescriptor;
 import com.google.protobuf.DynamicMessage;
 import io.grpc.stub.ServerCalls.UnaryMethod;
@@ -16,12 +15,14 @@ class GrpcWireMockUnaryMethodHandler
     private final MethodDescriptor methodDescriptor;
 
     @NonNull
-    private final StubRequestHandler stubRequestHandler;
+    private final GrpcWireMockStubRouter stubRouter;
 
     @Override
     public void invoke(final DynamicMessage inputMessage, final StreamObserver<DynamicMessage> responseObserver) {
-        stubRequestHandler.handle(
+        stubRouter.callStarted(methodDescriptor);
+
+        stubRouter.route(
                 new GrpcWireMockRequest(methodDescriptor, inputMessage),
-                unaryResponder(methodDescriptor, responseObserver));
+                unaryResponder(methodDescriptor, stubRouter.getResponseCache(), responseObserver));
     }
 }
@@ -12,6 +12,8 @@ import wiremock.org.eclipse.jetty.server.Request;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @UtilityClass
 class GrpcWireMockUtils {
@@ -47,4 +49,14 @@ class GrpcWireMockUtils {
 
         return InternalMetadata.newMetadata(binaryValues.toArray(new byte[][]{}));
     }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or newer", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create a virtual thread executor", e);
+        }
+    }
 }
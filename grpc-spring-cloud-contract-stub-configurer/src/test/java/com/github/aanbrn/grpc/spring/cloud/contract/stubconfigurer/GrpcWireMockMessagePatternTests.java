@@ -0,0 +1,195 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.matching.RequestPatternBuilder;
+import com.github.tomakehurst.wiremock.matching.StringValuePattern;
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import com.google.protobuf.DynamicMessage;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageWriter.messageAsJson;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageWriter.messagesAsJson;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.TestMessageTypes.clientStreamingMethod;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.TestMessageTypes.nestedMessage;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.TestMessageTypes.request;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.TestMessageTypes.unaryMethod;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GrpcWireMockMessagePatternTests {
+
+    @Test
+    void shouldMatchEqualityFiltersAsWireMockDoes() {
+        val message = requestMessage(42, "alice");
+
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.name == 'alice')]"), message, true);
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.name == 'bob')]"), message, false);
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.name != 'bob')]"), message, true);
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.id == 42)]"), message, true);
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.id == 43)]"), message, false);
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.kind == 'KIND_FIRST')]"), message, true);
+    }
+
+    @Test
+    void shouldMatchRegexFiltersAsWireMockDoes() {
+        val message = requestMessage(1, "Alice");
+
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.name =~ /Al.*/)]"), message, true);
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.name =~ /al.*/i)]"), message, true);
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.name =~ /al.*/)]"), message, false);
+    }
+
+    @Test
+    void shouldMatchNumericComparisonsAsWireMockDoes() {
+        val message = requestMessage(1, "alice");
+
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.amount > 10)]"), message, true);
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.amount <= 12.5)]"), message, true);
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.amount < 12.5)]"), message, false);
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.ratio == 0.1)]"), message, true);
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.ratio > 0.1)]"), message, false);
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.big > 1)]"), message, true);
+    }
+
+    @Test
+    void shouldMatchNestedAndRepeatedFieldsAsWireMockDoes() {
+        val message = requestMessage(1, "alice");
+        val withoutNested = DynamicMessage.newBuilder(request);
+        set(withoutNested, "id", 1L);
+
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.nested.id == 7)]"), message, true);
+        assertMatches(unaryMethod, matchingJsonPath("$[?(@.nested.id == 8)]"), message, false);
+        assertMatches(unaryMethod, matchingJsonPath("$.nested"), message, true);
+        assertMatches(unaryMethod, matchingJsonPath("$.nested"), withoutNested.build(), false);
+        assertMatches(unaryMethod, matchingJsonPath("$.items[?(@.name == 'second')]"), message, true);
+        assertMatches(unaryMethod, matchingJsonPath("$.items[?(@.name == 'third')]"), message, false);
+        assertMatches(unaryMethod, matchingJsonPath("$.tags[?(@ == 'b')]"), message, true);
+        assertMatches(unaryMethod, matchingJsonPath("$.tags[?(@ == 'c')]"), message, false);
+    }
+
+    @Test
+    void shouldMatchFiltersOverStreamedMessagesAsWireMockDoes() {
+        val messages = List.of(requestMessage(1, "first"), requestMessage(2, "second"));
+
+        assertMatches(clientStreamingMethod, matchingJsonPath("$[?(@.id == 2)]"), messages, true);
+        assertMatches(clientStreamingMethod, matchingJsonPath("$[?(@.id == 3)]"), messages, false);
+        assertMatches(clientStreamingMethod, matchingJsonPath("$[1].name"), messages, true);
+        assertMatches(clientStreamingMethod, matchingJsonPath("$[2].name"), messages, false);
+    }
+
+    @Test
+    void shouldMatchEqualToJsonAsWireMockDoes() {
+        val message = requestMessage(1, "alice");
+        val json = messageAsJson(message);
+
+        assertMatches(unaryMethod, equalToJson(json), message, true);
+        assertMatches(unaryMethod, equalToJson(json), requestMessage(1, "bob"), false);
+        assertMatches(unaryMethod, equalToJson(json), requestMessage(2, "alice"), false);
+        assertMatches(unaryMethod, equalToJson(json.replace("\"alice\"", "\"bob\"")), message, false);
+
+        val messages = List.of(requestMessage(1, "first"), requestMessage(2, "second"));
+        assertMatches(clientStreamingMethod, equalToJson(messagesAsJson(messages)), messages, true);
+        assertMatches(clientStreamingMethod, equalToJson(messagesAsJson(messages)), messages.subList(0, 1), false);
+    }
+
+    @Test
+    void shouldMatchEqualToJsonRegardlessOfMapOrder() {
+        val expected = requestMessage(1, "alice").toBuilder();
+        add(expected, "counts", countsEntry("a", 1));
+        add(expected, "counts", countsEntry("b", 2));
+        val actual = requestMessage(1, "alice").toBuilder();
+        add(actual, "counts", countsEntry("b", 2));
+        add(actual, "counts", countsEntry("a", 1));
+
+        assertMatches(unaryMethod, equalToJson(messageAsJson(expected.build())), actual.build(), true);
+    }
+
+    @Test
+    void shouldLeaveEqualToJsonWithMissingFieldsToWireMock() {
+        val message = DynamicMessage.newBuilder(request);
+        set(message, "id", 1L);
+        val grpcRequest = request(unaryMethod, message.build());
+        val requestPattern = requestPattern(equalToJson("{\"id\": 1}"), grpcRequest);
+
+        assertThat(requestPattern.match(grpcRequest).isExactMatch()).isFalse();
+        assertThat(GrpcWireMockMessagePattern.compile(requestPattern, unaryMethod)).isNull();
+    }
+
+    private static void assertMatches(
+            final MethodDescriptor method,
+            final StringValuePattern bodyPattern,
+            final Object messages,
+            final boolean expected) {
+        val request = request(method, messages);
+        val requestPattern = requestPattern(bodyPattern, request);
+
+        assertThat(bodyPattern.match(jsonBody(messages)).isExactMatch())
+                .as("WireMock: %s", bodyPattern.getExpected())
+                .isEqualTo(expected);
+
+        val messagePattern = GrpcWireMockMessagePattern.compile(requestPattern, method);
+        assertThat(messagePattern).as("Compiled: %s", bodyPattern.getExpected()).isNotNull();
+        assertThat(messagePattern.matches(request))
+                .as("Compiled: %s", bodyPattern.getExpected())
+                .isEqualTo(expected);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GrpcWireMockRequest request(final MethodDescriptor method, final Object messages) {
+        return method.isClientStreaming()
+                ? new GrpcWireMockRequest(method, (List<DynamicMessage>) messages)
+                : new GrpcWireMockRequest(method, (DynamicMessage) messages);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String jsonBody(final Object messages) {
+        return messages instanceof List
+                ? messagesAsJson((List<DynamicMessage>) messages)
+                : messageAsJson((DynamicMessage) messages);
+    }
+
+    private static RequestPattern requestPattern(
+            final StringValuePattern bodyPattern, final GrpcWireMockRequest request) {
+        return RequestPatternBuilder
+                .newRequestPattern(RequestMethod.POST, urlEqualTo(request.getUrl()))
+                .withRequestBody(bodyPattern)
+                .build();
+    }
+
+    private static DynamicMessage requestMessage(final long id, final String name) {
+        val builder = DynamicMessage.newBuilder(request);
+        set(builder, "id", id);
+        set(builder, "name", name);
+        set(builder, "amount", 12.5);
+        set(builder, "ratio", 0.1f);
+        set(builder, "big", -1L);
+        set(builder, "kind", request.getFile().findEnumTypeByName("Kind").findValueByName("KIND_FIRST"));
+        set(builder, "nested", nestedMessage(7, "nested"));
+        add(builder, "items", nestedMessage(1, "first"));
+        add(builder, "items", nestedMessage(2, "second"));
+        add(builder, "tags", "a");
+        add(builder, "tags", "b");
+        return builder.build();
+    }
+
+    private static DynamicMessage countsEntry(final String key, final long value) {
+        val builder = DynamicMessage.newBuilder(request.findFieldByName("counts").getMessageType());
+        set(builder, "key", key);
+        set(builder, "value", value);
+        return builder.build();
+    }
+
+    private static void set(final DynamicMessage.Builder builder, final String fieldName, final Object value) {
+        builder.setField(builder.getDescriptorForType().findFieldByName(fieldName), value);
+    }
+
+    private static void add(final DynamicMessage.Builder builder, final String fieldName, final Object value) {
+        builder.addRepeatedField(builder.getDescriptorForType().findFieldByName(fieldName), value);
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer;
+
+import com.google.protobuf.DynamicMessage;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static com.github.aanbrn.grpc.spring.cloud.contract.stubconfigurer.GrpcWireMockResponseFrame.HEADER_LENGTH;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.TestMessageTypes.allKindsMessage;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.TestMessageTypes.nested;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GrpcWireMockResponseFrameTests {
+
+    @Test
+    void shouldHoldTheLengthPrefixedMessage() throws Exception {
+        val message = allKindsMessage();
+
+        val frame = new GrpcWireMockResponseFrame(message).frame();
+
+        assertThat(frame[0]).isZero();
+        assertThat(ByteBuffer.wrap(frame, 1, 4).getInt()).isEqualTo(message.getSerializedSize());
+        assertThat(Arrays.copyOfRange(frame, HEADER_LENGTH, frame.length)).isEqualTo(message.toByteArray());
+    }
+
+    @Test
+    void shouldHoldTheGzippedMessage() throws Exception {
+        val message = allKindsMessage();
+        val responseFrame = new GrpcWireMockResponseFrame(message);
+
+        val gzippedFrame = responseFrame.gzippedFrame();
+
+        assertThat(gzippedFrame[0]).isOne();
+        assertThat(ByteBuffer.wrap(gzippedFrame, 1, 4).getInt()).isEqualTo(gzippedFrame.length - HEADER_LENGTH);
+        try (val input = new GZIPInputStream(new ByteArrayInputStream(
+                gzippedFrame, HEADER_LENGTH, gzippedFrame.length - HEADER_LENGTH))) {
+            assertThat(input.readAllBytes()).isEqualTo(message.toByteArray());
+        }
+        assertThat(responseFrame.gzippedFrame()).isSameAs(gzippedFrame);
+    }
+
+    @Test
+    void shouldHoldEmptyMessages() throws Exception {
+        val frame = new GrpcWireMockResponseFrame(DynamicMessage.getDefaultInstance(nested)).frame();
+
+        assertThat(frame).containsExactly(0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,364 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.verifier;
+
+import com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcUtils;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.DynamicMessage;
+import io.grpc.*;
+import io.grpc.MethodDescriptor.MethodType;
+import io.grpc.internal.GrpcUtil;
+import io.grpc.protobuf.ProtoMethodDescriptorSupplier;
+import io.grpc.protobuf.ProtoUtils;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.springframework.cloud.contract.spec.internal.HttpHeaders;
+import org.springframework.cloud.contract.spec.internal.HttpMethods.HttpMethod;
+import org.springframework.cloud.contract.spec.internal.HttpStatus;
+import org.springframework.cloud.contract.verifier.http.Request;
+import org.springframework.cloud.contract.verifier.http.Response;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageWriter.messageAsJson;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcJsonMessageWriter.messagesAsJson;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcStringMessageWriter.messageAsString;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcStringMessageWriter.messagesAsString;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcUtils.messageFromJson;
+import static com.github.aanbrn.grpc.spring.cloud.contract.util.GrpcUtils.messagesFromJson;
+import static shaded.com.google.common.base.Preconditions.checkArgument;
+
+public class GrpcAsyncHttpVerifier {
+
+    private record ExchangePlan(
+            MethodDescriptor<DynamicMessage, DynamicMessage> methodDescriptor,
+            Descriptor inputMessageType,
+            Descriptor outputMessageType) {
+    }
+
+    @RequiredArgsConstructor
+    private final class Exchange extends ClientCall.Listener<DynamicMessage> implements Runnable {
+
+        private final ExchangePlan exchangePlan;
+
+        private final List<DynamicMessage> inputMessages;
+
+        private final GrpcHttpVerifierMetrics.MethodStats methodStats;
+
+        private final long requestConversionNanos;
+
+        private final boolean jsonBody;
+
+        private final CompletableFuture<Response> future = new CompletableFuture<>();
+
+        private final List<DynamicMessage> outputMessages = new ArrayList<>();
+
+        private Metadata responseHeaders;
+
+        private volatile ClientCall<DynamicMessage, DynamicMessage> call;
+
+        private long startNanos;
+
+        @Override
+        public void run() {
+            startNanos = System.nanoTime();
+            try {
+                var callOptions = callOptions();
+                if (methodStats != null) {
+                    callOptions = callOptions.withStreamTracerFactory(methodStats.streamTracerFactory);
+                }
+                call = channel.newCall(exchangePlan.methodDescriptor(), callOptions);
+                call.start(this, new Metadata());
+                call.request(1);
+                inputMessages.forEach(call::sendMessage);
+                call.halfClose();
+                future.whenComplete((response, e) -> {
+                    if (future.isCancelled()) {
+                        call.cancel("Exchange cancelled", null);
+                    }
+                });
+            } catch (RuntimeException e) {
+                if (call != null) {
+                    call.cancel("Failed to start the call", e);
+                }
+                complete(Status.fromThrowable(e));
+            }
+        }
+
+        @Override
+        public void onHeaders(final Metadata headers) {
+            responseHeaders = headers;
+        }
+
+        @Override
+        public void onMessage(final DynamicMessage message) {
+            outputMessages.add(message);
+            call.request(1);
+        }
+
+        @Override
+        public void onClose(final Status status, final Metadata trailers) {
+            complete(status);
+        }
+
+        private void complete(final Status status) {
+            if (future.isDone()) {
+                return;
+            }
+
+            if (methodStats == null) {
+                future.complete(response(status));
+                return;
+            }
+
+            val completionNanos = System.nanoTime();
+            val response = response(status);
+            methodStats.callCompleted(
+                    status,
+                    completionNanos - startNanos,
+                    requestConversionNanos + System.nanoTime() - completionNanos);
+            future.complete(response);
+        }
+
+        private Response response(final Status status) {
+            val methodType = exchangePlan.methodDescriptor().getType();
+            if (!status.isOk()) {
+                return errorResponse(status);
+            } else if (methodType.serverSendsOneMessage()) {
+                if (outputMessages.size() == 1) {
+                    val outputMessage = outputMessages.get(0);
+                    return okResponse(
+                            jsonBody ? messageAsJson(outputMessage) : messageAsString(outputMessage), responseHeaders);
+                } else {
+                    return errorResponse(
+                            Status.INTERNAL.withDescription(
+                                    outputMessages.isEmpty()
+                                            ? "No value received for unary call"
+                                            : "More than one value received for unary call"));
+                }
+            } else {
+                return okResponse(
+                        jsonBody ? messagesAsJson(outputMessages, true) : messagesAsString(outputMessages, true),
+                        responseHeaders);
+            }
+        }
+    }
+
+    private static final Metadata.Key<String> MESSAGE_ACCEPT_ENCODING_KEY =
+            Metadata.Key.of(GrpcUtil.MESSAGE_ACCEPT_ENCODING, Metadata.ASCII_STRING_MARSHALLER);
+
+    private final Channel channel;
+
+    @Getter(AccessLevel.PACKAGE)
+    private final GrpcHttpVerifierOptions options;
+
+    private final Map<String, MethodDescriptor<?, ?>> methods;
+
+    private final Map<String, ExchangePlan> exchangePlans = new ConcurrentHashMap<>();
+
+    private final Semaphore callPermits;
+
+    private final Queue<Exchange> pendingExchanges = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    public GrpcAsyncHttpVerifier(@NonNull final Channel channel, @NonNull final Collection<BindableService> services) {
+        this(channel, services, GrpcHttpVerifierOptions.DEFAULT);
+    }
+
+    public GrpcAsyncHttpVerifier(
+            @NonNull final Channel channel,
+            @NonNull final Collection<BindableService> services,
+            @NonNull final GrpcHttpVerifierOptions options) {
+        checkArgument(!services.isEmpty(), "Argument 'services' cannot be empty");
+        checkArgument(options.getMaxConcurrentCalls() >= 0, "Option 'maxConcurrentCalls' cannot be negative");
+        checkArgument(options.getCallTimeout() == null
+                        || !options.getCallTimeout().isNegative() && !options.getCallTimeout().isZero(),
+                "Option 'callTimeout' must be positive");
+        checkArgument(options.getExchangeTimeout() != null
+                        && !options.getExchangeTimeout().isNegative() && !options.getExchangeTimeout().isZero(),
+                "Option 'exchangeTimeout' must be positive");
+
+        this.channel = channel;
+        this.options = options;
+
+        val methods = new HashMap<String, MethodDescriptor<?, ?>>();
+        for (val service : services) {
+            val serverServiceDefinition = service.bindService();
+            for (val serverMethodDefinition : serverServiceDefinition.getMethods()) {
+                val methodDescriptor = serverMethodDefinition.getMethodDescriptor();
+                methods.put(methodDescriptor.getFullMethodName(), methodDescriptor);
+            }
+        }
+        this.methods = Map.copyOf(methods);
+
+        this.callPermits = options.getMaxConcurrentCalls() > 0 ? new Semaphore(options.getMaxConcurrentCalls()) : null;
+    }
+
+    public CompletableFuture<Response> exchangeAsync(@NonNull final Request request) {
+        return exchangeAsync(request, false);
+    }
+
+    // Response bodies are rendered the way Spring Cloud Contract prints contract bodies, which is what the generated
+    // assertions compare them with, unless JSON is requested for callers that parse them, like the load generator
+    CompletableFuture<Response> exchangeAsync(@NonNull final Request request, final boolean jsonBody) {
+        if (request.method() != null && request.method() != HttpMethod.POST) {
+            throw new IllegalArgumentException("POST request method is supported only");
+        }
+        if (request.headers().containsKey(HttpHeaders.CONTENT_TYPE)
+                && !GrpcUtil.isGrpcContentType((String) request.headers().get(HttpHeaders.CONTENT_TYPE))) {
+            throw new IllegalArgumentException("gRPC content type is supported only");
+        }
+        if (request.queryParams() != null && !request.queryParams().isEmpty()) {
+            throw new IllegalArgumentException("Query parameters are not supported");
+        }
+        if (request.cookies() != null && !request.cookies().isEmpty()) {
+            throw new IllegalArgumentException("Cookies are not supported");
+        }
+        if (request.path() == null || request.path().isBlank()) {
+            throw new IllegalArgumentException("Request path is required");
+        }
+        if (request.path().charAt(0) != '/') {
+            throw new IllegalArgumentException("Request path must start with a slash");
+        }
+        if (request.body() == null) {
+            throw new IllegalArgumentException("Request body is required");
+        }
+
+        val methodName = GrpcUtils.extractMethodName(request.path());
+
+        val grpcMethod = methods.get(methodName);
+        if (grpcMethod == null) {
+            throw new IllegalStateException("No gRPC method related to the given path");
+        }
+        val exchangePlan = exchangePlans.computeIfAbsent(methodName, name -> exchangePlan(grpcMethod));
+
+        final Exchange exchange;
+        if (options.getMetrics() != null) {
+            val conversionStartNanos = System.nanoTime();
+            val inputMessages = inputMessages(request, exchangePlan);
+            exchange = new Exchange(
+                    exchangePlan, inputMessages, options.getMetrics().methodStats(methodName),
+                    System.nanoTime() - conversionStartNanos, jsonBody);
+        } else {
+            exchange = new Exchange(exchangePlan, inputMessages(request, exchangePlan), null, 0L, jsonBody);
+        }
+        if (callPermits == null) {
+            exchange.run();
+        } else {
+            pendingExchanges.add(exchange);
+            startPendingExchanges();
+        }
+        return exchange.future;
+    }
+
+    private static ExchangePlan exchangePlan(final MethodDescriptor<?, ?> grpcMethod) {
+        if (!(grpcMethod.getSchemaDescriptor() instanceof ProtoMethodDescriptorSupplier schemaDescriptor)) {
+            throw new IllegalStateException("No proto schema descriptor for the related gRPC method");
+        }
+        val protoMethod = schemaDescriptor.getMethodDescriptor();
+        if (protoMethod == null) {
+            throw new IllegalStateException("No proto method descriptor for the related gRPC method");
+        }
+
+        val inputMessageMarshaller =
+                ProtoUtils.marshaller(DynamicMessage.getDefaultInstance(protoMethod.getInputType()));
+        val outputMessageMarshaller =
+                ProtoUtils.marshaller(DynamicMessage.getDefaultInstance(protoMethod.getOutputType()));
+
+        return new ExchangePlan(
+                grpcMethod.toBuilder(inputMessageMarshaller, outputMessageMarshaller).build(),
+                protoMethod.getInputType(),
+                protoMethod.getOutputType());
+    }
+
+    private static List<DynamicMessage> inputMessages(final Request request, final ExchangePlan exchangePlan) {
+        val methodType = exchangePlan.methodDescriptor().getType();
+        if (methodType == MethodType.UNKNOWN) {
+            throw new IllegalStateException("Unknown gRPC method type: " + methodType);
+        }
+        if (methodType.clientSendsOneMessage()) {
+            try {
+                return List.of(messageFromJson(request.body().asString(), exchangePlan.inputMessageType()));
+            } catch (IOException e) {
+                throw new IllegalStateException("Request body must contain a valid input message", e);
+            }
+        } else {
+            try {
+                return messagesFromJson(request.body().asString(), exchangePlan.inputMessageType());
+            } catch (IOException e) {
+                throw new IllegalStateException("Request body must contain an array of valid input messages", e);
+            }
+        }
+    }
+
+    private void startPendingExchanges() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        var missed = 1;
+        do {
+            while (!pendingExchanges.isEmpty() && callPermits.tryAcquire()) {
+                val exchange = pendingExchanges.poll();
+                if (exchange == null || exchange.future.isDone()) {
+                    callPermits.release();
+                } else {
+                    exchange.future.whenComplete((response, e) -> {
+                        callPermits.release();
+                        startPendingExchanges();
+                    });
+                    exchange.run();
+                }
+            }
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private CallOptions callOptions() {
+        var callOptions = CallOptions.DEFAULT;
+        if (options.getCallTimeout() != null) {
+            callOptions = callOptions.withDeadlineAfter(options.getCallTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (options.getCompression() != null) {
+            callOptions = callOptions.withCompression(options.getCompression());
+        }
+        return callOptions;
+    }
+
+    private static Response okResponse(final String body, final Metadata headers) {
+        val response = Response
+                .builder()
+                .statusCode(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, GrpcUtil.CONTENT_TYPE_GRPC);
+
+        val messageEncoding = headers != null ? headers.get(GrpcUtil.MESSAGE_ENCODING_KEY) : null;
+        response.header(GrpcUtil.MESSAGE_ENCODING, messageEncoding != null ? messageEncoding : "identity");
+
+        val messageAcceptEncoding = headers != null ? headers.get(MESSAGE_ACCEPT_ENCODING_KEY) : null;
+        if (messageAcceptEncoding != null) {
+            response.header(GrpcUtil.MESSAGE_ACCEPT_ENCODING, messageAcceptEncoding);
+        }
+
+        return response
+                .body(body)
+                .build();
+    }
+
+    private static Response errorResponse(final Status status) {
+        return Response
+                .builder()
+                .statusCode(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, GrpcUtil.CONTENT_TYPE_GRPC)
+                .header("grpc-status", status.getCode().value())
+                .header("grpc-message", status.getDescription())
+                .build();
+    }
+}
@@ -0,0 +1,408 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.verifier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import lombok.NonNull;
+import lombok.val;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.cloud.contract.spec.Contract;
+import org.springframework.cloud.contract.spec.internal.DslProperty;
+import org.springframework.cloud.contract.verifier.http.Request;
+import org.springframework.cloud.contract.verifier.http.Response;
+import org.springframework.cloud.contract.verifier.util.ContractVerifierDslConverter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static shaded.com.google.common.base.Preconditions.checkArgument;
+
+public class GrpcContractLoadGenerator {
+
+    private record ContractExchange(String name, Request request, Object expectedStatus, JsonNode expectedBody) {
+    }
+
+    private final class LoadRun {
+
+        private final long endNanos;
+
+        private final boolean verifyResponses;
+
+        private final Histogram latencyHistogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+        private final LongAdder exchanges = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final Queue<String> failureSamples = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger failureSampleCount = new AtomicInteger();
+
+        private final AtomicInteger activeUnits = new AtomicInteger(1);
+
+        private final CompletableFuture<Void> finished = new CompletableFuture<>();
+
+        private LoadRun(final long endNanos, final boolean verifyResponses) {
+            this.endNanos = endNanos;
+            this.verifyResponses = verifyResponses;
+        }
+
+        private void runClosedLoopWorker() {
+            while (System.nanoTime() < endNanos) {
+                val exchange = nextExchange();
+                val startNanos = System.nanoTime();
+                final CompletableFuture<Response> future;
+                try {
+                    future = verifier.exchangeAsync(exchange.request(), true);
+                } catch (RuntimeException e) {
+                    record(exchange, startNanos, null, e);
+                    continue;
+                }
+                // Whoever comes second, the callback or this thread, carries on with the loop, so exchanges that
+                // complete while the callback is being registered do not make the worker recurse
+                val registering = new AtomicBoolean(true);
+                future.whenComplete((response, e) -> {
+                    record(exchange, startNanos, response, e);
+                    if (!registering.compareAndSet(true, false)) {
+                        runClosedLoopWorker();
+                    }
+                });
+                if (registering.compareAndSet(true, false)) {
+                    return;
+                }
+            }
+            unitFinished();
+        }
+
+        private void startOpenLoopExchange(final long intendedStartNanos) {
+            val exchange = nextExchange();
+            activeUnits.incrementAndGet();
+            try {
+                verifier.exchangeAsync(exchange.request(), true).whenComplete((response, e) -> {
+                    record(exchange, intendedStartNanos, response, e);
+                    unitFinished();
+                });
+            } catch (RuntimeException e) {
+                record(exchange, intendedStartNanos, null, e);
+                unitFinished();
+            }
+        }
+
+        private void unitStarted() {
+            activeUnits.incrementAndGet();
+        }
+
+        private void unitFinished() {
+            if (activeUnits.decrementAndGet() == 0) {
+                finished.complete(null);
+            }
+        }
+
+        private void record(
+                final ContractExchange exchange, final long startNanos, final Response response, final Throwable e) {
+            latencyHistogram.recordValue(System.nanoTime() - startNanos);
+            exchanges.increment();
+
+            String failure = null;
+            if (e != null) {
+                failure = e.toString();
+            } else if (verifyResponses) {
+                failure = verify(exchange, response);
+            }
+            if (failure != null) {
+                failures.increment();
+                if (failureSampleCount.getAndIncrement() < MAX_FAILURE_SAMPLES) {
+                    failureSamples.add(exchange.name() + ": " + failure);
+                }
+            }
+        }
+
+        private GrpcContractLoadReport report(final Duration elapsed) {
+            return new GrpcContractLoadReport(
+                    exchanges.sum(),
+                    failures.sum(),
+                    elapsed,
+                    latencyHistogram.copy(),
+                    List.copyOf(failureSamples));
+        }
+    }
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final int MAX_FAILURE_SAMPLES = 10;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final Comparator<JsonNode> jsonNodeComparator = (node1, node2) -> {
+        if (node1.isNumber() && node2.isNumber()) {
+            return node1.decimalValue().compareTo(node2.decimalValue());
+        }
+        return node1.equals(node2) ? 0 : 1;
+    };
+
+    private final GrpcAsyncHttpVerifier verifier;
+
+    private final List<ContractExchange> exchanges;
+
+    private final AtomicLong exchangeCounter = new AtomicLong();
+
+    public GrpcContractLoadGenerator(
+            @NonNull final GrpcAsyncHttpVerifier verifier, @NonNull final Collection<Contract> contracts) {
+        this.verifier = verifier;
+        this.exchanges = contracts
+                .stream()
+                .filter(contract -> !contract.isIgnored() && contract.getRequest() != null)
+                .map(GrpcContractLoadGenerator::contractExchange)
+                .toList();
+        checkArgument(!this.exchanges.isEmpty(), "Argument 'contracts' must contain at least one HTTP contract");
+    }
+
+    public static List<Contract> loadContracts(@NonNull final Path directory) throws IOException {
+        checkArgument(Files.isDirectory(directory), "Argument 'directory' must be a directory");
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            val contractFiles = paths
+                    .filter(path -> Files.isRegularFile(path) && path.toString().endsWith(".groovy"))
+                    .sorted()
+                    .toList();
+            val contracts = new ArrayList<Contract>();
+            for (val contractFile : contractFiles) {
+                contracts.addAll(ContractVerifierDslConverter.convertAsCollection(
+                        directory.toFile(), contractFile.toFile()));
+            }
+            return contracts;
+        }
+    }
+
+    public GrpcContractLoadReport run(@NonNull final GrpcContractLoadOptions options) throws InterruptedException {
+        checkArgument(options.getDuration() != null
+                        && !options.getDuration().isNegative() && !options.getDuration().isZero(),
+                "Option 'duration' must be positive");
+        checkArgument(options.getWarmupDuration() != null && !options.getWarmupDuration().isNegative(),
+                "Option 'warmupDuration' cannot be negative");
+        checkArgument(options.getConcurrency() > 0, "Option 'concurrency' must be positive");
+        checkArgument(options.getRatePerSecond() >= 0, "Option 'ratePerSecond' cannot be negative");
+
+        if (!options.getWarmupDuration().isZero()) {
+            run(options, options.getWarmupDuration());
+        }
+        return run(options, options.getDuration());
+    }
+
+    private GrpcContractLoadReport run(final GrpcContractLoadOptions options, final Duration duration)
+            throws InterruptedException {
+        val startNanos = System.nanoTime();
+        val loadRun = new LoadRun(startNanos + duration.toNanos(), options.isVerifyResponses());
+
+        if (options.getRatePerSecond() > 0) {
+            val intervalNanos = 1e9 / options.getRatePerSecond();
+            for (long i = 0; ; i++) {
+                val intendedStartNanos = startNanos + (long) (i * intervalNanos);
+                if (intendedStartNanos - loadRun.endNanos >= 0) {
+                    break;
+                }
+                long delayNanos;
+                while ((delayNanos = intendedStartNanos - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(delayNanos);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+                loadRun.startOpenLoopExchange(intendedStartNanos);
+            }
+        } else {
+            for (int i = 0; i < options.getConcurrency(); i++) {
+                loadRun.unitStarted();
+                loadRun.runClosedLoopWorker();
+            }
+        }
+        loadRun.unitFinished();
+
+        try {
+            loadRun.finished.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load run failed", e.getCause());
+        }
+
+        return loadRun.report(Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    private ContractExchange nextExchange() {
+        return exchanges.get((int) (exchangeCounter.getAndIncrement() % exchanges.size()));
+    }
+
+    private static ContractExchange contractExchange(final Contract contract) {
+        val contractRequest = contract.getRequest();
+
+        val path = contractRequest.getUrlPath() != null
+                ? contractRequest.getUrlPath().getServerValue()
+                : contractRequest.getUrl() != null ? contractRequest.getUrl().getServerValue() : null;
+        checkArgument(path != null, "Contract must specify a URL: " + contract.getName());
+
+        val request = Request
+                .given()
+                .method(String.valueOf(testSideValue(contractRequest.getMethod())), String.valueOf(path));
+        if (contractRequest.getHeaders() != null) {
+            for (val header : contractRequest.getHeaders().getEntries()) {
+                request.header(header.getName(), String.valueOf(testSideValue(header)));
+            }
+        }
+        if (contractRequest.getBody() != null) {
+            request.body(json(testSideValue(contractRequest.getBody()), contract));
+        }
+
+        val contractResponse = contract.getResponse();
+        Object expectedStatus = "0";
+        JsonNode expectedBody = null;
+        if (contractResponse != null) {
+            if (contractResponse.getHeaders() != null) {
+                for (val header : contractResponse.getHeaders().getEntries()) {
+                    if ("grpc-status".equalsIgnoreCase(header.getName())) {
+                        expectedStatus = testSideValue(header);
+                    }
+                }
+            }
+            val bodyMatchers = contractResponse.getBodyMatchers();
+            if (contractResponse.getBody() != null && (bodyMatchers == null || !bodyMatchers.hasMatchers())) {
+                val body = testSideValue(contractResponse.getBody());
+                if (isPlainJson(body)) {
+                    expectedBody = objectMapper.valueToTree(body);
+                }
+            }
+        }
+
+        return new ContractExchange(
+                contract.getName() != null ? contract.getName() : String.valueOf(path),
+                request.build(),
+                expectedStatus,
+                expectedBody);
+    }
+
+    private static String verify(final ContractExchange exchange, final Response response) {
+        val statusHeader = response.headers().get("grpc-status");
+        val status = statusHeader != null ? String.valueOf(statusHeader) : "0";
+        if (exchange.expectedStatus() instanceof Pattern pattern
+                ? !pattern.matcher(status).matches()
+                : !status.equals(String.valueOf(exchange.expectedStatus()))) {
+            return "Expected grpc-status " + exchange.expectedStatus() + " but was " + status;
+        }
+        if (exchange.expectedBody() == null || !"0".equals(status)) {
+            return null;
+        }
+
+        final JsonNode body;
+        try {
+            body = unwrapDslProperties(objectMapper.readTree(response.getBody().asString()));
+        } catch (JsonProcessingException e) {
+            return "Response body is not valid JSON: " + e.getOriginalMessage();
+        }
+        if (!containsJson(body, exchange.expectedBody())) {
+            return "Expected body " + exchange.expectedBody() + " but was " + body;
+        }
+        return null;
+    }
+
+    // Like the generated contract tests, only checks the values the contract specifies, in any array order
+    private static boolean containsJson(final JsonNode actual, final JsonNode expected) {
+        if (expected.isObject()) {
+            if (!actual.isObject()) {
+                return false;
+            }
+            val fields = expected.fields();
+            while (fields.hasNext()) {
+                val field = fields.next();
+                val actualValue = actual.get(field.getKey());
+                if (field.getValue().isNull()
+                        ? actualValue != null && !actualValue.isNull()
+                        : actualValue == null || !containsJson(actualValue, field.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (expected.isArray()) {
+            if (!actual.isArray()) {
+                return false;
+            }
+            for (val expectedElement : expected) {
+                var contained = false;
+                for (val actualElement : actual) {
+                    if (containsJson(actualElement, expectedElement)) {
+                        contained = true;
+                        break;
+                    }
+                }
+                if (!contained) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return jsonNodeComparator.compare(expected, actual) == 0;
+    }
+
+    private static JsonNode unwrapDslProperties(final JsonNode body) {
+        if (!(body instanceof ArrayNode array)) {
+            return body;
+        }
+        val unwrapped = objectMapper.createArrayNode();
+        for (val element : array) {
+            unwrapped.add(element.has("serverValue") ? element.get("serverValue") : element);
+        }
+        return unwrapped;
+    }
+
+    private static Object testSideValue(final Object value) {
+        if (value instanceof DslProperty<?> property) {
+            return testSideValue(property.getServerValue());
+        } else if (value instanceof Map<?, ?> map) {
+            val result = new LinkedHashMap<Object, Object>();
+            map.forEach((key, mapValue) -> result.put(String.valueOf(testSideValue(key)), testSideValue(mapValue)));
+            return result;
+        } else if (value instanceof Collection<?> collection) {
+            return collection.stream().map(GrpcContractLoadGenerator::testSideValue).collect(Collectors.toList());
+        } else if (value instanceof CharSequence chars) {
+            return chars.toString();
+        }
+        return value;
+    }
+
+    private static boolean isPlainJson(final Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return true;
+        } else if (value instanceof Map<?, ?> map) {
+            return map.values().stream().allMatch(GrpcContractLoadGenerator::isPlainJson);
+        } else if (value instanceof Collection<?> collection) {
+            return collection.stream().allMatch(GrpcContractLoadGenerator::isPlainJson);
+        }
+        return false;
+    }
+
+    private static String json(final Object value, final Contract contract) {
+        if (value instanceof String string) {
+            return string;
+        }
+        checkArgument(isPlainJson(value), "Contract request body must be concrete JSON: " + contract.getName());
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Contract request body must be concrete JSON: " + contract.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.verifier;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+@Builder(toBuilder = true)
+public class GrpcContractLoadOptions {
+
+    public static final GrpcContractLoadOptions DEFAULT = GrpcContractLoadOptions.builder().build();
+
+    /**
+     * How long the load is generated and measured for.
+     */
+    @Builder.Default
+    Duration duration = Duration.ofSeconds(10);
+
+    /**
+     * How long the load is generated for before the measurement starts. No warm-up by default.
+     */
+    @Builder.Default
+    Duration warmupDuration = Duration.ZERO;
+
+    /**
+     * Number of exchanges run back to back in parallel (closed loop). Ignored if {@code ratePerSecond} is set.
+     */
+    @Builder.Default
+    int concurrency = 1;
+
+    /**
+     * Number of exchanges started per second regardless of how fast the producer responds (open loop). Latencies are
+     * measured from the intended start of each exchange. Zero (the default) runs a closed loop instead.
+     */
+    @Builder.Default
+    double ratePerSecond = 0;
+
+    /**
+     * Whether to check the gRPC status and, where the contract specifies a concrete body, the response messages of
+     * every exchange. Mismatches are counted as failures.
+     */
+    @Builder.Default
+    boolean verifyResponses = true;
+}
@@ -0,0 +1,48 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.verifier;
+
+import lombok.NonNull;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+@Value
+public class GrpcContractLoadReport {
+
+    long exchanges;
+
+    long failures;
+
+    Duration elapsed;
+
+    @NonNull
+    Histogram latencyHistogram;
+
+    @NonNull
+    List<String> failureSamples;
+
+    public double getThroughput() {
+        return elapsed.isZero() ? 0.0 : exchanges * 1e9 / elapsed.toNanos();
+    }
+
+    public Duration getLatencyAtPercentile(final double percentile) {
+        return Duration.ofNanos(latencyHistogram.getValueAtPercentile(percentile));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "exchanges=%d, failures=%d, elapsed=%.3fs, throughput=%.1f/s, "
+                        + "p50=%.3fms, p99=%.3fms, p99.9=%.3fms, max=%.3fms",
+                exchanges,
+                failures,
+                elapsed.toNanos() / 1e9,
+                getThroughput(),
+                latencyHistogram.getValueAtPercentile(50.0) / 1e6,
+                latencyHistogram.getValueAtPercentile(99.0) / 1e6,
+                latencyHistogram.getValueAtPercentile(99.9) / 1e6,
+                latencyHistogram.getMaxValue() / 1e6);
+    }
+}
@@ -0,0 +1,184 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.verifier;
+
+import io.grpc.ClientStreamTracer;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class GrpcHttpVerifierMetrics {
+
+    public static final class MethodStats {
+
+        @Getter
+        private final String methodName;
+
+        private final Histogram latencyHistogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+        private final Histogram conversionHistogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+        private final LongAdder calls = new LongAdder();
+
+        private final LongAdder failedCalls = new LongAdder();
+
+        private final LongAdder messagesSent = new LongAdder();
+
+        private final LongAdder messagesReceived = new LongAdder();
+
+        private final LongAdder bytesSent = new LongAdder();
+
+        private final LongAdder bytesReceived = new LongAdder();
+
+        private final ClientStreamTracer streamTracer = new ClientStreamTracer() {
+            @Override
+            public void outboundMessage(final int seqNo) {
+                messagesSent.increment();
+            }
+
+            @Override
+            public void outboundWireSize(final long bytes) {
+                bytesSent.add(bytes);
+            }
+
+            @Override
+            public void inboundMessage(final int seqNo) {
+                messagesReceived.increment();
+            }
+
+            @Override
+            public void inboundWireSize(final long bytes) {
+                bytesReceived.add(bytes);
+            }
+        };
+
+        final ClientStreamTracer.Factory streamTracerFactory = new ClientStreamTracer.Factory() {
+            @Override
+            public ClientStreamTracer newClientStreamTracer(
+                    final ClientStreamTracer.StreamInfo info, final Metadata headers) {
+                return streamTracer;
+            }
+        };
+
+        private MethodStats(final String methodName) {
+            this.methodName = methodName;
+        }
+
+        public Histogram getLatencyHistogram() {
+            return latencyHistogram.copy();
+        }
+
+        public Histogram getConversionHistogram() {
+            return conversionHistogram.copy();
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getFailedCalls() {
+            return failedCalls.sum();
+        }
+
+        public long getMessagesSent() {
+            return messagesSent.sum();
+        }
+
+        public long getMessagesReceived() {
+            return messagesReceived.sum();
+        }
+
+        public long getBytesSent() {
+            return bytesSent.sum();
+        }
+
+        public long getBytesReceived() {
+            return bytesReceived.sum();
+        }
+
+        void callCompleted(final Status status, final long latencyNanos, final long conversionNanos) {
+            calls.increment();
+            if (!status.isOk()) {
+                failedCalls.increment();
+            }
+            latencyHistogram.recordValue(latencyNanos);
+            conversionHistogram.recordValue(conversionNanos);
+        }
+
+        private void reset() {
+            latencyHistogram.reset();
+            conversionHistogram.reset();
+            calls.reset();
+            failedCalls.reset();
+            messagesSent.reset();
+            messagesReceived.reset();
+            bytesSent.reset();
+            bytesReceived.reset();
+        }
+    }
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<String, MethodStats> methodStats = new ConcurrentSkipListMap<>();
+
+    public Collection<MethodStats> getMethodStats() {
+        return List.copyOf(methodStats.values());
+    }
+
+    public MethodStats getMethodStats(@NonNull final String methodName) {
+        return methodStats.get(methodName);
+    }
+
+    public void reset() {
+        methodStats.values().forEach(MethodStats::reset);
+    }
+
+    public String report() {
+        val report = new StringBuilder();
+        report.append(String.format(Locale.ROOT,
+                "%-60s %8s %8s %10s %10s %10s %10s %10s %10s %10s %10s %12s %12s%n",
+                "Method", "Calls", "Failed", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms", "Conv ms",
+                "Msgs out", "Msgs in", "Bytes out", "Bytes in"));
+        for (val stats : methodStats.values()) {
+            val latency = stats.latencyHistogram.copy();
+            val conversion = stats.conversionHistogram.copy();
+            report.append(String.format(Locale.ROOT,
+                    "%-60s %8d %8d %10.3f %10.3f %10.3f %10.3f %10.3f %10.3f %10d %10d %12d %12d%n",
+                    stats.methodName,
+                    stats.getCalls(),
+                    stats.getFailedCalls(),
+                    latency.getValueAtPercentile(50.0) / NANOS_PER_MILLI,
+                    latency.getValueAtPercentile(90.0) / NANOS_PER_MILLI,
+                    latency.getValueAtPercentile(99.0) / NANOS_PER_MILLI,
+                    latency.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                    latency.getMaxValue() / NANOS_PER_MILLI,
+                    conversion.getMean() / NANOS_PER_MILLI,
+                    stats.getMessagesSent(),
+                    stats.getMessagesReceived(),
+                    stats.getBytesSent(),
+                    stats.getBytesReceived()));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public String toString() {
+        return report();
+    }
+
+    MethodStats methodStats(final String methodName) {
+        return methodStats.computeIfAbsent(methodName, MethodStats::new);
+    }
+}
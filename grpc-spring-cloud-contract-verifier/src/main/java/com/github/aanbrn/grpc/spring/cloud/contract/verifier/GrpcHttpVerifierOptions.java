@@ -0,0 +1,44 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.verifier;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+@Builder(toBuilder = true)
+public class GrpcHttpVerifierOptions {
+
+    public static final GrpcHttpVerifierOptions DEFAULT = GrpcHttpVerifierOptions.builder().build();
+
+    /**
+     * Maximum number of calls in flight at once. Further exchanges are queued until a call completes. Zero (the
+     * default) means no limit.
+     */
+    @Builder.Default
+    int maxConcurrentCalls = 0;
+
+    /**
+     * Deadline of every call, counted from the moment the call is started. No deadline by default.
+     */
+    Duration callTimeout;
+
+    /**
+     * How long {@link GrpcHttpVerifier} waits for an exchange to complete, including the time it is queued, before
+     * cancelling it. One minute by default.
+     */
+    @Builder.Default
+    Duration exchangeTimeout = Duration.ofMinutes(1);
+
+    /**
+     * Name of the compressor the request messages are sent with, e.g. {@code gzip}. Must be known to the compressor
+     * registry of the channel. Not compressed by default.
+     */
+    String compression;
+
+    /**
+     * Metrics the exchanges are recorded to: call latency and JSON conversion time histograms (in nanoseconds),
+     * message and byte counts per gRPC method. Not recorded if not set.
+     */
+    GrpcHttpVerifierMetrics metrics;
+}
@@ -0,0 +1,202 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.verifier;
+
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto.Label;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto.Type;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.DescriptorProtos.MethodDescriptorProto;
+import com.google.protobuf.DescriptorProtos.ServiceDescriptorProto;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Descriptors.DescriptorValidationException;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import com.google.protobuf.DynamicMessage;
+import io.grpc.*;
+import io.grpc.MethodDescriptor.MethodType;
+import io.grpc.protobuf.ProtoMethodDescriptorSupplier;
+import io.grpc.protobuf.ProtoUtils;
+import lombok.NonNull;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.cloud.contract.spec.Contract;
+import org.springframework.cloud.contract.spec.internal.HttpStatus;
+import org.springframework.cloud.contract.verifier.http.Request;
+import org.springframework.cloud.contract.verifier.http.Response;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GrpcContractLoadGeneratorTests {
+
+    private static final Channel unusedChannel = new Channel() {
+        @Override
+        public <I, O> ClientCall<I, O> newCall(
+                final io.grpc.MethodDescriptor<I, O> methodDescriptor, final CallOptions callOptions) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String authority() {
+            return "localhost";
+        }
+    };
+
+    private static final GrpcContractLoadOptions options = GrpcContractLoadOptions
+            .builder()
+            .duration(Duration.ofMillis(200))
+            .build();
+
+    @Test
+    void shouldAcceptResponsesContainingTheContractBody() throws Exception {
+        val generator = new GrpcContractLoadGenerator(
+                verifier("{\"text\": \"hello\", \"count\": 0, \"tags\": [\"b\", \"a\"]}"),
+                List.of(echoContract(Map.of("text", "hello", "tags", List.of("a")))));
+
+        val report = generator.run(options);
+
+        assertThat(report.getExchanges()).isPositive();
+        assertThat(report.getFailures()).isZero();
+        assertThat(report.getFailureSamples()).isEmpty();
+    }
+
+    @Test
+    void shouldReportResponsesMissingTheContractBody() throws Exception {
+        val generator = new GrpcContractLoadGenerator(
+                verifier("{\"text\": \"bye\", \"count\": 0}"),
+                List.of(echoContract(Map.of("text", "hello"))));
+
+        val report = generator.run(options);
+
+        assertThat(report.getExchanges()).isPositive();
+        assertThat(report.getFailures()).isEqualTo(report.getExchanges());
+        assertThat(report.getFailureSamples()).first().asString().startsWith("echo: Expected body");
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldNotRecurseOverExchangesCompletingImmediately() throws Exception {
+        val startedExchanges = new AtomicLong();
+        val firstStackDepth = new AtomicInteger();
+        val maxStackDepth = new AtomicInteger();
+        val generator = new GrpcContractLoadGenerator(
+                verifier("{\"text\": \"hello\"}", () -> {
+                    startedExchanges.incrementAndGet();
+                    val stackDepth = Thread.currentThread().getStackTrace().length;
+                    firstStackDepth.compareAndSet(0, stackDepth);
+                    maxStackDepth.accumulateAndGet(stackDepth, Math::max);
+                }),
+                List.of(echoContract(Map.of("text", "hello"))));
+
+        val report = generator.run(options);
+
+        assertThat(report.getExchanges()).isGreaterThan(1).isEqualTo(startedExchanges.get());
+        assertThat(report.getFailures()).isZero();
+        assertThat(maxStackDepth.get()).isEqualTo(firstStackDepth.get());
+    }
+
+    private static Contract echoContract(final Map<String, Object> responseBody) {
+        return Contract.make(contract -> {
+            contract.name("echo");
+            contract.request(request -> {
+                request.method(request.POST());
+                request.url("/test.EchoService/Echo");
+                request.body(Map.of("text", "hello"));
+            });
+            contract.response(response -> {
+                response.status(response.OK());
+                response.body(responseBody);
+            });
+        });
+    }
+
+    private static GrpcAsyncHttpVerifier verifier(final String responseBody) throws DescriptorValidationException {
+        return verifier(responseBody, () -> {
+        });
+    }
+
+    private static GrpcAsyncHttpVerifier verifier(final String responseBody, final Runnable exchangeListener)
+            throws DescriptorValidationException {
+        val response = Response
+                .builder()
+                .statusCode(HttpStatus.OK)
+                .header("grpc-status", "0")
+                .body(responseBody)
+                .build();
+        return new GrpcAsyncHttpVerifier(unusedChannel, List.of(echoService())) {
+            @Override
+            CompletableFuture<Response> exchangeAsync(@NonNull final Request request, final boolean jsonBody) {
+                exchangeListener.run();
+                return CompletableFuture.completedFuture(response);
+            }
+        };
+    }
+
+    private static BindableService echoService() throws DescriptorValidationException {
+        val fileDescriptor = FileDescriptor.buildFrom(
+                FileDescriptorProto
+                        .newBuilder()
+                        .setName("echo.proto")
+                        .setPackage("test")
+                        .setSyntax("proto3")
+                        .addMessageType(
+                                DescriptorProto
+                                        .newBuilder()
+                                        .setName("Echo")
+                                        .addField(
+                                                FieldDescriptorProto
+                                                        .newBuilder()
+                                                        .setName("text")
+                                                        .setNumber(1)
+                                                        .setLabel(Label.LABEL_OPTIONAL)
+                                                        .setType(Type.TYPE_STRING)))
+                        .addService(
+                                ServiceDescriptorProto
+                                        .newBuilder()
+                                        .setName("EchoService")
+                                        .addMethod(
+                                                MethodDescriptorProto
+                                                        .newBuilder()
+                                                        .setName("Echo")
+                                                        .setInputType(".test.Echo")
+                                                        .setOutputType(".test.Echo")))
+                        .build(),
+                new FileDescriptor[0]);
+        val protoMethod = fileDescriptor.findServiceByName("EchoService").findMethodByName("Echo");
+        val marshaller = ProtoUtils.marshaller(DynamicMessage.getDefaultInstance(protoMethod.getInputType()));
+
+        val grpcMethod = io.grpc.MethodDescriptor
+                .newBuilder(marshaller, marshaller)
+                .setType(MethodType.UNARY)
+                .setFullMethodName("test.EchoService/Echo")
+                .setSchemaDescriptor(new ProtoMethodDescriptorSupplier() {
+                    @Override
+                    public Descriptors.MethodDescriptor getMethodDescriptor() {
+                        return protoMethod;
+                    }
+
+                    @Override
+                    public Descriptors.ServiceDescriptor getServiceDescriptor() {
+                        return protoMethod.getService();
+                    }
+
+                    @Override
+                    public FileDescriptor getFileDescriptor() {
+                        return fileDescriptor;
+                    }
+                })
+                .build();
+        val serviceDefinition = ServerServiceDefinition
+                .builder("test.EchoService")
+                .addMethod(grpcMethod, (call, headers) -> new ServerCall.Listener<DynamicMessage>() {
+                })
+                .build();
+        return () -> serviceDefinition;
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.aanbrn.grpc.spring.cloud.contract.verifier;
+
+import lombok.val;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GrpcContractLoadReportTests {
+
+    @Test
+    void shouldComputeThroughputFromElapsedTime() {
+        val report = new GrpcContractLoadReport(100, 0, Duration.ofSeconds(2), new Histogram(3), List.of());
+
+        assertThat(report.getThroughput()).isEqualTo(50.0);
+    }
+
+    @Test
+    void shouldReportZeroThroughputWithoutElapsedTime() {
+        val report = new GrpcContractLoadReport(100, 0, Duration.ZERO, new Histogram(3), List.of());
+
+        assertThat(report.getThroughput()).isZero();
+    }
+
+    @Test
+    void shouldReportLatencyPercentiles() {
+        val report = new GrpcContractLoadReport(100, 1, Duration.ofSeconds(1), latencyHistogram(), List.of());
+
+        assertThat(report.getLatencyAtPercentile(50.0).toNanos()).isCloseTo(1_000_000L, within(1_000L));
+        assertThat(report.getLatencyAtPercentile(100.0).toNanos()).isCloseTo(100_000_000L, within(100_000L));
+        assertThat(report.toString())
+                .startsWith("exchanges=100, failures=1, elapsed=1.000s, throughput=100.0/s, p50=1.000ms")
+                .contains("max=100.");
+    }
+
+    private static Histogram latencyHistogram() {
+        val histogram = new Histogram(3);
+        histogram.recordValueWithCount(1_000_000L, 99);
+        histogram.recordValue(100_000_000L);
+        return histogram;
+    }
+}